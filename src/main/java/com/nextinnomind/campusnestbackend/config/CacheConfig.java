@@ -0,0 +1,61 @@
+package com.nextinnomind.campusnestbackend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROPERTY_DETAILS = "propertyDetails";
+    public static final String PROPERTY_SEARCH = "propertySearch";
+    public static final String USER_PRINCIPALS = "userPrincipals";
+
+    @Value("${app.cache.property-details.max-size:10000}")
+    private long propertyDetailsMaxSize;
+
+    @Value("${app.cache.property-details.ttl:5m}")
+    private Duration propertyDetailsTtl;
+
+    @Value("${app.cache.property-search.max-size:2000}")
+    private long propertySearchMaxSize;
+
+    @Value("${app.cache.property-search.ttl:60s}")
+    private Duration propertySearchTtl;
+
+    @Value("${app.cache.user-principals.max-size:10000}")
+    private long userPrincipalsMaxSize;
+
+    @Value("${app.cache.user-principals.ttl:60s}")
+    private Duration userPrincipalsTtl;
+
+    // Caches record stats so actuator publishes cache.gets (hit/miss), cache.puts and cache.evictions
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PROPERTY_DETAILS, Caffeine.newBuilder()
+                .maximumSize(propertyDetailsMaxSize)
+                .expireAfterWrite(propertyDetailsTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PROPERTY_SEARCH, Caffeine.newBuilder()
+                .maximumSize(propertySearchMaxSize)
+                .expireAfterWrite(propertySearchTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(USER_PRINCIPALS, Caffeine.newBuilder()
+                .maximumSize(userPrincipalsMaxSize)
+                .expireAfterWrite(userPrincipalsTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -63,6 +63,7 @@ public class SecurityConfig {
                         .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
 
                         // Property endpoints (some public for search)
                         .requestMatchers(HttpMethod.GET, "/api/v1/properties").permitAll()
@@ -70,6 +71,7 @@ public class SecurityConfig {
 
                         // Admin only endpoints
                         .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
 
                         // Landlord specific endpoints
                         .requestMatchers(HttpMethod.POST, "/api/v1/properties").hasRole("LANDLORD")
@@ -0,0 +1,49 @@
+package com.nextinnomind.campusnestbackend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.socket.config.WebSocketMessageBrokerStats;
+
+/**
+ * Publishes the STOMP channel pools (queue depth, active and pool threads) and the open session
+ * count, for sizing the settings in {@link WebSocketConfig}.
+ */
+@Configuration
+public class WebSocketMetricsConfig {
+
+    @Bean
+    public MeterBinder webSocketChannelMetrics(
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inbound,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outbound,
+            @Qualifier("brokerChannelExecutor") ThreadPoolTaskExecutor broker,
+            WebSocketMessageBrokerStats stats) {
+        return registry -> {
+            bindExecutor(registry, "inbound", inbound);
+            bindExecutor(registry, "outbound", outbound);
+            bindExecutor(registry, "broker", broker);
+            Gauge.builder("websocket.sessions", stats, s -> s.getWebSocketSessionStats() != null
+                            ? s.getWebSocketSessionStats().getWebSocketSessions() : 0)
+                    .description("Open WebSocket and SockJS sessions")
+                    .register(registry);
+        };
+    }
+
+    private static void bindExecutor(MeterRegistry registry, String channel, ThreadPoolTaskExecutor executor) {
+        Gauge.builder("websocket.channel.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("Messages waiting for a channel thread")
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("websocket.channel.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Channel threads currently processing a message")
+                .tag("channel", channel)
+                .register(registry);
+        Gauge.builder("websocket.channel.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .tag("channel", channel)
+                .register(registry);
+    }
+}
@@ -138,15 +138,7 @@ public class AuthController {
     @Operation(summary = "Logout user")
     public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader("Authorization") String token) {
         try {
-            // Extract JWT token from Authorization header
-            String jwtToken = token.replace("Bearer ", "");
-
-            // TODO: Implement logout logic
-            // - Add token to blacklist
-            // - Revoke refresh tokens for this user
-            // - Clear any server-side sessions
-
-            log.info("User logout requested with token: {}", jwtToken.substring(0, 10) + "...");
+            authService.logout(token.replace("Bearer ", ""));
             return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
         } catch (Exception e) {
             log.error("Logout failed", e);
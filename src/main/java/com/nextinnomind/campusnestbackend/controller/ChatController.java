@@ -2,6 +2,7 @@ package com.nextinnomind.campusnestbackend.controller;
 
 import com.nextinnomind.campusnestbackend.dto.chat.*;
 import com.nextinnomind.campusnestbackend.dto.common.ApiResponse;
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
 import com.nextinnomind.campusnestbackend.security.CurrentUser;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
 import com.nextinnomind.campusnestbackend.service.ChatService;
@@ -17,8 +18,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1/chats")
 @RequiredArgsConstructor
@@ -41,26 +40,34 @@ public class ChatController {
     @GetMapping
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get user conversations")
-    public ResponseEntity<ApiResponse<List<ConversationResponse>>> getConversations(
+    public ResponseEntity<ApiResponse<Page<ConversationResponse>>> getConversations(
             @CurrentUser UserPrincipal userPrincipal,
             @PageableDefault(size = 20) Pageable pageable) {
 
-        List<ConversationResponse> conversations = chatService.getUserConversations(userPrincipal.getId(), pageable);
+        Page<ConversationResponse> conversations = chatService.getUserConversations(userPrincipal.getId(), pageable);
 
         return ResponseEntity.ok(
                 ApiResponse.success("Conversations retrieved successfully", conversations)
         );
     }
 
+    @GetMapping("/unread-count")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get total unread messages")
+    public ResponseEntity<ApiResponse<Long>> getUnreadCount(@CurrentUser UserPrincipal userPrincipal) {
+        long unreadCount = chatService.getUnreadCount(userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success("Unread count retrieved successfully", unreadCount));
+    }
 
     @GetMapping("/{conversationId}/messages")
     @PreAuthorize("isAuthenticated()")
-    @Operation(summary = "Get conversation messages")
-    public ResponseEntity<ApiResponse<Page<MessageResponse>>> getMessages(
+    @Operation(summary = "Get conversation messages, newest first; pass before=<messageId> to scroll back")
+    public ResponseEntity<ApiResponse<CursorPage<MessageResponse>>> getMessages(
             @CurrentUser UserPrincipal userPrincipal,
-            @PathVariable Long conversationId,
-            @PageableDefault(size = 50) Pageable pageable) {
-        Page<MessageResponse> messages = chatService.getMessages(String.valueOf(conversationId), userPrincipal.getId(), pageable);
+            @PathVariable String conversationId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<MessageResponse> messages = chatService.getMessages(conversationId, userPrincipal.getId(), before, size);
         return ResponseEntity.ok(ApiResponse.success("Messages retrieved successfully", messages));
     }
 
@@ -69,9 +76,9 @@ public class ChatController {
     @Operation(summary = "Send message")
     public ResponseEntity<ApiResponse<MessageResponse>> sendMessage(
             @CurrentUser UserPrincipal userPrincipal,
-            @PathVariable Long conversationId,
+            @PathVariable String conversationId,
             @Valid @RequestBody SendMessageRequest request) {
-        MessageResponse response = chatService.sendMessage(String.valueOf(conversationId), request, userPrincipal.getId());
+        MessageResponse response = chatService.sendMessage(conversationId, request, userPrincipal.getId());
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Message sent successfully", response));
     }
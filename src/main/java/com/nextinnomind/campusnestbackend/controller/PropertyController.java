@@ -1,6 +1,8 @@
 package com.nextinnomind.campusnestbackend.controller;
 
 import com.nextinnomind.campusnestbackend.dto.common.ApiResponse;
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
+import com.nextinnomind.campusnestbackend.dto.common.ResourceVersion;
 import com.nextinnomind.campusnestbackend.dto.property.*;
 import com.nextinnomind.campusnestbackend.security.CurrentUser;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
@@ -12,11 +14,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
@@ -76,20 +80,66 @@ public class PropertyController {
             @RequestParam(required = false) Double lng,
             @RequestParam(required = false) Double radiusKm,
             @RequestParam(required = false) List<String> amenities,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
+
+        // Clients re-polling an unchanged catalog get a 304 before any search runs
+        ResourceVersion version = propertyService.getCatalogVersion();
+        if (webRequest.checkNotModified(version.eTag())) {
+            return notModified();
+        }
 
         Page<PropertyResponse> properties = propertyService.searchProperties(
                 query, address, lat, lng, radiusKm, minPrice, maxPrice, amenities, pageable);
 
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Properties retrieved successfully", properties));
+    }
+
+
+    @GetMapping("/feed")
+    @Operation(summary = "Search and filter properties with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getPropertyFeed(
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String address,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) List<String> amenities,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<PropertyResponse> properties = propertyService.getPropertyFeed(
+                query, address, lat, lng, radiusKm, minPrice, maxPrice, amenities, cursor, size);
+
         return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
     }
 
+    @GetMapping("/featured")
+    @Operation(summary = "Get featured properties with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getFeaturedProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PropertyResponse> properties = propertyService.getFeaturedPropertyFeed(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Featured properties retrieved successfully", properties));
+    }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get property details")
-    public ResponseEntity<ApiResponse<PropertyResponse>> getProperty(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<PropertyResponse>> getProperty(@PathVariable Long id, WebRequest webRequest) {
+        // Revalidating an unchanged listing costs one version lookup, not a load and conversion
+        ResourceVersion version = propertyService.getPropertyVersion(id);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModified())) {
+            return notModified();
+        }
+
         PropertyResponse response = propertyService.getPropertyById(id);
-        return ResponseEntity.ok(ApiResponse.success("Property retrieved successfully", response));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success("Property retrieved successfully", response));
     }
 
     @PutMapping("/{id}")
@@ -123,6 +173,17 @@ public class PropertyController {
         return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
     }
 
+    @GetMapping("/my-properties/feed")
+    @PreAuthorize("hasRole('LANDLORD')")
+    @Operation(summary = "Get landlord's properties with cursor pagination")
+    public ResponseEntity<ApiResponse<CursorPage<PropertyResponse>>> getMyPropertyFeed(
+            @CurrentUser UserPrincipal userPrincipal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PropertyResponse> properties = propertyService.getPropertyFeedByOwner(userPrincipal.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Properties retrieved successfully", properties));
+    }
+
     @PostMapping("/{id}/units")
     @PreAuthorize("hasRole('LANDLORD')")
     @Operation(summary = "Add unit to property")
@@ -157,4 +218,10 @@ public class PropertyController {
         propertyService.deleteUnit(propertyId, unitId, userPrincipal.getId());
         return ResponseEntity.ok(ApiResponse.success("Unit deleted successfully", null));
     }
-}
\ No newline at end of file
+
+    // checkNotModified has already set the 304 status and validator headers;
+    // no-cache lets clients store the response as long as they revalidate it
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+    }
+}
@@ -18,5 +18,6 @@ public class ConversationResponse {
         private String fullName;
         private String profilePictureUrl;
         private String role;
+        private Boolean online;
     }
 }
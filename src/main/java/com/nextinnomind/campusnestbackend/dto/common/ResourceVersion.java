@@ -0,0 +1,24 @@
+package com.nextinnomind.campusnestbackend.dto.common;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Validators for conditional GET: a strong ETag derived from everything a response depends on,
+ * and the last modification time in epoch millis (-1 when unknown).
+ */
+public record ResourceVersion(String eTag, long lastModified) {
+
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        String fingerprint = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new ResourceVersion(eTag, lastModified != null
+                ? lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1);
+    }
+}
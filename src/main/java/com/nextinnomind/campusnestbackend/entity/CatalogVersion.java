@@ -0,0 +1,26 @@
+package com.nextinnomind.campusnestbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row counter moved by every write that can change a public listing response, shared by
+ * all nodes so they derive the same catalog ETag.
+ */
+@Entity
+@Table(name = "catalog_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogVersion {
+
+    public static final int CATALOG_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long generation;
+}
@@ -0,0 +1,76 @@
+package com.nextinnomind.campusnestbackend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per pair of users who have exchanged messages, keyed by the {@code conv_<a>_<b>} id
+ * (a < b). Carries a snapshot of the latest message and each participant's unread count so the
+ * inbox never has to scan the messages table.
+ */
+@Entity
+@Table(name = "conversations", indexes = {
+        @Index(name = "idx_conversations_one_activity", columnList = "participant_one_id, last_activity_at"),
+        @Index(name = "idx_conversations_two_activity", columnList = "participant_two_id, last_activity_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class Conversation {
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    // The participant with the smaller user id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participant_one_id", nullable = false)
+    private User participantOne;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "participant_two_id", nullable = false)
+    private User participantTwo;
+
+    private Long lastMessageId;
+
+    @Column(columnDefinition = "TEXT")
+    private String lastMessageContent;
+
+    private Long lastMessageSenderId;
+
+    private LocalDateTime lastActivityAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer participantOneUnread = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer participantTwoUnread = 0;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public User getOtherParticipant(Long userId) {
+        return participantOne.getId().equals(userId) ? participantTwo : participantOne;
+    }
+
+    public int getUnreadCountFor(Long userId) {
+        return participantOne.getId().equals(userId) ? participantOneUnread : participantTwoUnread;
+    }
+
+    // The latest message is read once its receiver has no unread messages left
+    public boolean isLastMessageRead() {
+        return getUnreadCountFor(lastMessageSenderId.equals(participantOne.getId())
+                ? participantTwo.getId() : participantOne.getId()) == 0;
+    }
+}
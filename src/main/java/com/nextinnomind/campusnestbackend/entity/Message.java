@@ -13,7 +13,10 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation_created", columnList = "conversation_id, created_at DESC, id DESC"),
+        @Index(name = "idx_messages_receiver_read", columnList = "receiver_id, is_read")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
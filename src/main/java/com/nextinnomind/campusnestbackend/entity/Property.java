@@ -2,11 +2,13 @@
 package com.nextinnomind.campusnestbackend.entity;
 
 import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.util.GeoHashUtil;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,12 +19,18 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_geo_cell", columnList = "geo_cell"),
+        @Index(name = "idx_properties_lat_lng", columnList = "latitude, longitude"),
+        @Index(name = "idx_properties_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_properties_owner_created", columnList = "owner_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
 public class Property {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -43,6 +51,10 @@ public class Property {
     @Column(nullable = false)
     private Double longitude;
 
+    // Geohash cell of the coordinates, kept in sync on every insert/update
+    @Column(length = 12)
+    private String geoCell;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal basePrice;
 
@@ -56,7 +68,8 @@ public class Property {
     private List<String> photos;
 
     @ElementCollection
-    @CollectionTable(name = "property_amenities", joinColumns = @JoinColumn(name = "property_id"))
+    @CollectionTable(name = "property_amenities", joinColumns = @JoinColumn(name = "property_id"),
+            indexes = @Index(name = "idx_property_amenities_amenity", columnList = "amenity, property_id"))
     @Column(name = "amenity")
     private List<String> amenities;
 
@@ -73,6 +86,15 @@ public class Property {
 
     private Integer viewCount = 0;
 
+    // Review aggregates maintained incrementally by ReviewService
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(nullable = false, columnDefinition = "integer default 0 not null")
+    @Builder.Default
+    private Integer reviewCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
@@ -92,4 +114,19 @@ public class Property {
 
     @LastModifiedDate
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void updateGeoCell() {
+        if (latitude != null && longitude != null) {
+            geoCell = GeoHashUtil.encode(latitude, longitude, GeoHashUtil.CELL_PRECISION);
+        }
+    }
+
+    public Double getAverageRating() {
+        if (reviewCount == null || reviewCount == 0) {
+            return null;
+        }
+        return ratingSum.doubleValue() / reviewCount;
+    }
 }
\ No newline at end of file
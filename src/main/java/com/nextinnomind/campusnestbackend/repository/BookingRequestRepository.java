@@ -3,6 +3,7 @@ package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.BookingRequest;
 import com.nextinnomind.campusnestbackend.enums.BookingStatus;
+import com.nextinnomind.campusnestbackend.repository.projection.BookingView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,7 +16,12 @@ import java.util.List;
 
 @Repository
 public interface BookingRequestRepository extends JpaRepository<BookingRequest, Long> {
-    Page<BookingRequest> findByStudentId(Long studentId, Pageable pageable);
+    @Query(value = "SELECT new com.nextinnomind.campusnestbackend.repository.projection.BookingView(" +
+            "br.id, p.id, p.title, p.address, u.id, u.name, u.type, s.id, s.fullName, s.email, s.phone, " +
+            "br.status, br.startDate, br.endDate, br.studentMessage, br.landlordResponse, br.respondedAt, br.createdAt) " +
+            "FROM BookingRequest br JOIN br.property p JOIN br.unit u JOIN br.student s WHERE s.id = :studentId",
+            countQuery = "SELECT COUNT(br) FROM BookingRequest br WHERE br.student.id = :studentId")
+    Page<BookingView> findViewsByStudentId(@Param("studentId") Long studentId, Pageable pageable);
     Page<BookingRequest> findByPropertyOwnerId(Long ownerId, Pageable pageable);
     Page<BookingRequest> findByStatus(BookingStatus status, Pageable pageable);
     List<BookingRequest> findByPropertyId(Long propertyId);
@@ -0,0 +1,22 @@
+package com.nextinnomind.campusnestbackend.repository;
+
+import com.nextinnomind.campusnestbackend.entity.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, Integer> {
+
+    @Query("SELECT c.generation FROM CatalogVersion c WHERE c.id = :id")
+    Optional<Long> findGeneration(@Param("id") Integer id);
+
+    // Runs in the writer's transaction, so the new generation is visible exactly when its change is
+    @Modifying
+    @Query("UPDATE CatalogVersion c SET c.generation = c.generation + 1 WHERE c.id = :id")
+    int increment(@Param("id") Integer id);
+}
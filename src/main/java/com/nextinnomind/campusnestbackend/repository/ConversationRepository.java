@@ -0,0 +1,76 @@
+package com.nextinnomind.campusnestbackend.repository;
+
+import com.nextinnomind.campusnestbackend.entity.Conversation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ConversationRepository extends JpaRepository<Conversation, String> {
+
+    // Inbox, most recently active first; served by the (participant, last_activity_at) indexes
+    @EntityGraph(attributePaths = {"participantOne", "participantTwo"})
+    @Query(value = "SELECT c FROM Conversation c WHERE c.participantOne.id = :userId OR c.participantTwo.id = :userId " +
+            "ORDER BY c.lastActivityAt DESC, c.id DESC",
+            countQuery = "SELECT COUNT(c) FROM Conversation c WHERE c.participantOne.id = :userId OR c.participantTwo.id = :userId")
+    Page<Conversation> findByParticipantId(@Param("userId") Long userId, Pageable pageable);
+
+    // One sum per participant column, so each is served by its own index instead of scanning for the OR
+    @Query(value = "SELECT (SELECT COALESCE(SUM(participant_one_unread), 0) FROM conversations " +
+            "WHERE participant_one_id = :userId) + (SELECT COALESCE(SUM(participant_two_unread), 0) " +
+            "FROM conversations WHERE participant_two_id = :userId)",
+            nativeQuery = true)
+    long sumUnreadCountByParticipantId(@Param("userId") Long userId);
+
+    // Counter increments are applied in the database so concurrent senders never lose an update
+    @Modifying
+    @Query("UPDATE Conversation c SET c.lastMessageId = :messageId, c.lastMessageContent = :content, " +
+            "c.lastMessageSenderId = :senderId, c.lastActivityAt = :sentAt, " +
+            "c.participantOneUnread = c.participantOneUnread + :participantOneDelta, " +
+            "c.participantTwoUnread = c.participantTwoUnread + :participantTwoDelta WHERE c.id = :conversationId")
+    int recordMessage(@Param("conversationId") String conversationId,
+                       @Param("messageId") Long messageId,
+                       @Param("content") String content,
+                       @Param("senderId") Long senderId,
+                       @Param("sentAt") LocalDateTime sentAt,
+                       @Param("participantOneDelta") int participantOneDelta,
+                       @Param("participantTwoDelta") int participantTwoDelta);
+
+    @Modifying
+    @Query("UPDATE Conversation c SET " +
+            "c.participantOneUnread = CASE WHEN c.participantOne.id = :userId THEN 0 ELSE c.participantOneUnread END, " +
+            "c.participantTwoUnread = CASE WHEN c.participantTwo.id = :userId THEN 0 ELSE c.participantTwoUnread END " +
+            "WHERE c.id = :conversationId")
+    void clearUnreadCount(@Param("conversationId") String conversationId, @Param("userId") Long userId);
+
+    /**
+     * Creates the conversation rows missing for messages written before this table existed,
+     * taking the latest message and unread counts of each conversation_id in one statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversations (id, participant_one_id, participant_two_id, last_message_id, " +
+            "last_message_content, last_message_sender_id, last_activity_at, participant_one_unread, " +
+            "participant_two_unread, created_at) " +
+            "SELECT r.conversation_id, r.participant_one_id, r.participant_two_id, r.id, r.content, r.sender_id, " +
+            "r.created_at, r.participant_one_unread, r.participant_two_unread, r.first_created_at FROM (" +
+            "SELECT m.conversation_id, m.id, m.content, m.sender_id, m.created_at, " +
+            "LEAST(m.sender_id, m.receiver_id) AS participant_one_id, " +
+            "GREATEST(m.sender_id, m.receiver_id) AS participant_two_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY m.conversation_id ORDER BY m.created_at DESC, m.id DESC) AS rn, " +
+            "SUM(CASE WHEN m.is_read = FALSE AND m.receiver_id < m.sender_id THEN 1 ELSE 0 END) " +
+            "OVER (PARTITION BY m.conversation_id) AS participant_one_unread, " +
+            "SUM(CASE WHEN m.is_read = FALSE AND m.receiver_id > m.sender_id THEN 1 ELSE 0 END) " +
+            "OVER (PARTITION BY m.conversation_id) AS participant_two_unread, " +
+            "MIN(m.created_at) OVER (PARTITION BY m.conversation_id) AS first_created_at " +
+            "FROM messages m WHERE NOT EXISTS (SELECT 1 FROM conversations c WHERE c.id = m.conversation_id)) r " +
+            "WHERE r.rn = 1",
+            nativeQuery = true)
+    int backfillFromMessages();
+}
@@ -2,8 +2,7 @@
 package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.Message;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -14,16 +13,19 @@ import java.util.List;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    Page<Message> findByConversationIdOrderByCreatedAtDesc(String conversationId, Pageable pageable);
-
-    @Query("SELECT DISTINCT m.conversationId FROM Message m WHERE m.sender.id = :userId OR m.receiver.id = :userId")
-    List<String> findConversationsByUserId(@Param("userId") Long userId);
-
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :userId AND m.isRead = false")
-    Long countUnreadMessagesByReceiver(@Param("userId") Long userId);
+    // Newest messages of a conversation, served by idx_messages_conversation_created
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.conversationId = :conversationId " +
+            "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findLatest(@Param("conversationId") String conversationId, Limit limit);
+
+    // Keyset page: messages strictly older than the (createdAt, id) of the anchor message, with no offset or count
+    @Query("SELECT m FROM Message m JOIN FETCH m.sender WHERE m.conversationId = :conversationId AND (" +
+            "m.createdAt < (SELECT a.createdAt FROM Message a WHERE a.id = :beforeId AND a.conversationId = :conversationId) " +
+            "OR (m.createdAt = (SELECT a.createdAt FROM Message a WHERE a.id = :beforeId AND a.conversationId = :conversationId) " +
+            "AND m.id < :beforeId)) ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findBefore(@Param("conversationId") String conversationId, @Param("beforeId") Long beforeId, Limit limit);
 
     @Modifying
-    @Query("UPDATE Message m SET m.isRead = true, m.readAt = CURRENT_TIMESTAMP WHERE m.conversationId = :conversationId AND m.receiver.id = :userId")
+    @Query("UPDATE Message m SET m.isRead = true, m.readAt = CURRENT_TIMESTAMP WHERE m.conversationId = :conversationId AND m.receiver.id = :userId AND m.isRead = false")
     void markConversationAsRead(@Param("conversationId") String conversationId, @Param("userId") Long userId);
 }
-
@@ -3,6 +3,7 @@ package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.Payment;
 import com.nextinnomind.campusnestbackend.enums.PaymentStatus;
+import com.nextinnomind.campusnestbackend.repository.projection.PaymentView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -17,7 +18,11 @@ import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    Page<Payment> findByStudentId(Long studentId, Pageable pageable);
+    @Query(value = "SELECT new com.nextinnomind.campusnestbackend.repository.projection.PaymentView(" +
+            "p.id, p.amount, p.currency, p.status, p.paymentMethod, p.description, p.paidAt, p.createdAt) " +
+            "FROM Payment p WHERE p.student.id = :studentId",
+            countQuery = "SELECT COUNT(p) FROM Payment p WHERE p.student.id = :studentId")
+    Page<PaymentView> findViewsByStudentId(@Param("studentId") Long studentId, Pageable pageable);
     List<Payment> findByBookingId(Long bookingId);
     Page<Payment> findByStatus(PaymentStatus status, Pageable pageable);
     Optional<Payment> findByProviderTransactionId(String providerTransactionId);
@@ -2,30 +2,105 @@ package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.Property;
 import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.repository.projection.ElementValue;
+import com.nextinnomind.campusnestbackend.repository.projection.PropertyView;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property> {
 
+    // Listing paths fetch the owner in the page query; photos, amenities and units are
+    // loaded for the whole page by Hibernate batch fetching (hibernate.default_batch_fetch_size)
+    @EntityGraph(attributePaths = "owner")
     Page<Property> findByStatus(PropertyStatus status, Pageable pageable);
-    Page<Property> findByOwnerId(Long ownerId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "owner")
     Page<Property> findByFeaturedTrue(Pageable pageable);
 
-    @Query("SELECT p FROM Property p WHERE p.status = 'ACTIVE' " + "AND (:query IS NULL OR LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) " + "OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) " + "OR LOWER(p.address) LIKE LOWER(CONCAT('%', :query, '%'))) " + "AND (:address IS NULL OR LOWER(p.address) LIKE LOWER(CONCAT('%', :address, '%'))) " + "AND (:minPrice IS NULL OR p.basePrice >= :minPrice) " + "AND (:maxPrice IS NULL OR p.basePrice <= :maxPrice)")
-    Page<Property> searchProperties(@Param("query") String query, @Param("address") String address, @Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+    // Search composes PropertySpecifications filters into this single page query
+    @Override
+    @EntityGraph(attributePaths = "owner")
+    Page<Property> findAll(Specification<Property> specification, Pageable pageable);
+
+    // Read-only listing: one row per property with its owner columns, no entities in the persistence context
+    @Query(value = "SELECT new com.nextinnomind.campusnestbackend.repository.projection.PropertyView(" +
+            "p.id, p.title, p.description, p.address, p.latitude, p.longitude, p.basePrice, p.currency, " +
+            "p.availableFrom, p.status, p.featured, p.viewCount, p.ratingSum, p.reviewCount, p.createdAt, " +
+            "o.id, o.fullName, o.phone, o.profilePictureUrl) FROM Property p JOIN p.owner o WHERE o.id = :ownerId",
+            countQuery = "SELECT COUNT(p) FROM Property p WHERE p.owner.id = :ownerId")
+    Page<PropertyView> findViewsByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("SELECT new com.nextinnomind.campusnestbackend.repository.projection.ElementValue(p.id, photo) " +
+            "FROM Property p JOIN p.photos photo WHERE p.id IN :propertyIds")
+    List<ElementValue> findPhotosByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    @Query("SELECT new com.nextinnomind.campusnestbackend.repository.projection.ElementValue(p.id, amenity) " +
+            "FROM Property p JOIN p.amenities amenity WHERE p.id IN :propertyIds")
+    List<ElementValue> findAmenitiesByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    List<Property> findByGeoCellIsNull();
+
+    @EntityGraph(attributePaths = "owner")
+    List<Property> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.latitude AS latitude, p.longitude AS longitude FROM Property p WHERE p.status = 'ACTIVE'")
+    List<PropertyLocation> findActiveLocations();
+
+    // Lightweight validators for conditional GET, read without loading the entity
+    @Query("SELECT p.updatedAt AS updatedAt, o.updatedAt AS ownerUpdatedAt, p.reviewCount AS reviewCount, " +
+            "p.ratingSum AS ratingSum FROM Property p JOIN p.owner o WHERE p.id = :propertyId")
+    Optional<PropertyVersion> findVersionById(@Param("propertyId") Long propertyId);
+
+    // Review aggregate writes also bump updatedAt so Last-Modified covers them
+    @Modifying
+    @Query("UPDATE Property p SET p.ratingSum = p.ratingSum + :ratingDelta, p.reviewCount = p.reviewCount + :countDelta, " +
+            "p.updatedAt = LOCAL DATETIME WHERE p.id = :propertyId")
+    void adjustReviewAggregates(@Param("propertyId") Long propertyId, @Param("ratingDelta") long ratingDelta, @Param("countDelta") int countDelta);
+
+    @Modifying
+    @Query("UPDATE Property p SET p.ratingSum = :ratingSum, p.reviewCount = :reviewCount, p.updatedAt = LOCAL DATETIME " +
+            "WHERE p.id = :propertyId AND p.ratingSum = :expectedRatingSum AND p.reviewCount = :expectedReviewCount")
+    int resetReviewAggregates(@Param("propertyId") Long propertyId,
+                              @Param("ratingSum") long ratingSum,
+                              @Param("reviewCount") int reviewCount,
+                              @Param("expectedRatingSum") long expectedRatingSum,
+                              @Param("expectedReviewCount") int expectedReviewCount);
+
+    @Query("SELECT p.id AS id, p.ratingSum AS ratingSum, p.reviewCount AS reviewCount " +
+            "FROM Property p WHERE p.id > :afterId ORDER BY p.id")
+    List<ReviewAggregates> findReviewAggregatesAfter(@Param("afterId") Long afterId, Limit limit);
 
+    interface PropertyLocation {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+    }
 
-    @Query("SELECT p FROM Property p WHERE p.status = 'ACTIVE' " + "AND (6371 * acos(cos(radians(:lat)) * cos(radians(p.latitude)) * " + "cos(radians(p.longitude) - radians(:lng)) + sin(radians(:lat)) * " + "sin(radians(p.latitude)))) <= :radiusKm")
-    Page<Property> findPropertiesWithinRadius(@Param("lat") Double latitude, @Param("lng") Double longitude, @Param("radiusKm") Double radiusKm, Pageable pageable);
+    interface PropertyVersion {
+        LocalDateTime getUpdatedAt();
+        LocalDateTime getOwnerUpdatedAt();
+        Integer getReviewCount();
+        Long getRatingSum();
+    }
 
-    @Query("SELECT DISTINCT p FROM Property p JOIN p.amenities a " + "WHERE p.status = 'ACTIVE' AND a IN :amenities")
-    Page<Property> findByAmenitiesIn(@Param("amenities") List<String> amenities, Pageable pageable);
+    interface ReviewAggregates {
+        Long getId();
+        Long getRatingSum();
+        Integer getReviewCount();
+    }
 }
@@ -0,0 +1,190 @@
+package com.nextinnomind.campusnestbackend.repository;
+
+import com.nextinnomind.campusnestbackend.entity.Property;
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.util.GeoHashUtil;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Property search filters that can be combined into a single query. A filter whose input is
+ * missing contributes no predicate, so callers can chain every filter unconditionally.
+ */
+public final class PropertySpecifications {
+
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private PropertySpecifications() {
+    }
+
+    public static Specification<Property> isActive() {
+        return (root, query, cb) -> cb.equal(root.get("status"), PropertyStatus.ACTIVE);
+    }
+
+    public static Specification<Property> keywordContains(String keyword) {
+        return (root, query, cb) -> {
+            if (keyword == null || keyword.isBlank()) {
+                return null;
+            }
+            String pattern = likePattern(keyword);
+            return cb.or(
+                    cb.like(cb.lower(root.get("title")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern),
+                    cb.like(cb.lower(root.get("address")), pattern));
+        };
+    }
+
+    public static Specification<Property> addressContains(String address) {
+        return (root, query, cb) -> address == null || address.isBlank()
+                ? null
+                : cb.like(cb.lower(root.get("address")), likePattern(address));
+    }
+
+    public static Specification<Property> priceBetween(BigDecimal minPrice, BigDecimal maxPrice) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("basePrice"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("basePrice"), maxPrice));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Listings offering every one of the given amenities. Each amenity is an EXISTS lookup on
+     * the (amenity, property_id) index of property_amenities rather than a join over all rows.
+     */
+    public static Specification<Property> hasAllAmenities(Collection<String> amenities) {
+        return (root, query, cb) -> {
+            if (amenities == null || amenities.isEmpty()) {
+                return null;
+            }
+
+            Set<String> required = new LinkedHashSet<>(amenities);
+            List<Predicate> predicates = new ArrayList<>(required.size());
+            for (String amenity : required) {
+                Subquery<Long> offered = query.subquery(Long.class);
+                Root<Property> property = offered.correlate(root);
+                Join<Property, String> amenityJoin = property.join("amenities");
+                offered.select(cb.literal(1L)).where(cb.equal(amenityJoin, amenity));
+                predicates.add(cb.exists(offered));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Listings within {@code radiusKm} of the point. The indexed geohash cells and bounding box
+     * narrow the candidates before the exact great-circle distance is evaluated; when the caller
+     * gives no sort the results come nearest first.
+     */
+    public static Specification<Property> withinRadius(double latitude, double longitude, double radiusKm) {
+        return (root, query, cb) -> {
+            GeoHashUtil.BoundingBox box = GeoHashUtil.boundingBox(latitude, longitude, radiusKm);
+            Set<String> cells = GeoHashUtil.coveringCells(box, GeoHashUtil.CELL_PRECISION);
+            Expression<Double> distance = distanceKm(root, cb, latitude, longitude);
+
+            List<Predicate> predicates = new ArrayList<>();
+            if (!cells.isEmpty()) {
+                predicates.add(root.get("geoCell").in(cells));
+            }
+            predicates.add(cb.between(root.get("latitude"), box.minLat(), box.maxLat()));
+            if (box.crossesAntimeridian()) {
+                predicates.add(cb.or(cb.ge(root.get("longitude"), box.minLng()),
+                        cb.le(root.get("longitude"), box.maxLng())));
+            } else {
+                predicates.add(cb.between(root.get("longitude"), box.minLng(), box.maxLng()));
+            }
+            predicates.add(cb.le(distance, radiusKm));
+
+            // A sort from the Pageable replaces this; count and id queries are left unordered
+            if (isEntityQuery(query)) {
+                query.orderBy(cb.asc(distance), cb.asc(root.get("id")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Property> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    public static Specification<Property> isFeatured() {
+        return (root, query, cb) -> cb.isTrue(root.get("featured"));
+    }
+
+    // Keyset position for feeds ordered newest first: rows strictly after (createdAt, id)
+    public static Specification<Property> createdBefore(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.lessThan(root.get("id"), id)));
+    }
+
+    /**
+     * Keyset position for feeds ordered nearest first: rows strictly after (distance, id) of the
+     * last row. That row's distance is recomputed by the database so ties compare exactly; the
+     * distance carried in the cursor is only used if the row has since been deleted.
+     */
+    public static Specification<Property> fartherThan(double latitude, double longitude, Long lastId, double lastDistanceKm) {
+        return (root, query, cb) -> {
+            Subquery<Double> lastDistance = query.subquery(Double.class);
+            Root<Property> last = lastDistance.from(Property.class);
+            lastDistance.select(distanceKm(last, cb, latitude, longitude)).where(cb.equal(last.get("id"), lastId));
+
+            Expression<Double> boundary = cb.coalesce(lastDistance, cb.literal(lastDistanceKm));
+            Expression<Double> distance = distanceKm(root, cb, latitude, longitude);
+            return cb.or(
+                    cb.greaterThan(distance, boundary),
+                    cb.and(cb.equal(distance, boundary), cb.greaterThan(root.get("id"), lastId)));
+        };
+    }
+
+    /** Great-circle distance in kilometres, using the same formula as the database queries. */
+    public static double distanceKm(double fromLatitude, double fromLongitude, double latitude, double longitude) {
+        double cosines = Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(longitude) - Math.toRadians(fromLongitude))
+                * Math.cos(Math.toRadians(fromLatitude));
+        double sines = Math.sin(Math.toRadians(latitude)) * Math.sin(Math.toRadians(fromLatitude));
+        return Math.acos(Math.min(1.0, cosines + sines)) * EARTH_RADIUS_KM;
+    }
+
+    private static Expression<Double> distanceKm(Root<Property> root, CriteriaBuilder cb, double latitude, double longitude) {
+        Expression<Double> latitudeRad = cb.function("radians", Double.class, root.get("latitude"));
+        Expression<Double> longitudeRad = cb.function("radians", Double.class, root.get("longitude"));
+
+        Expression<Double> cosines = cb.prod(cb.prod(
+                        cb.function("cos", Double.class, latitudeRad),
+                        cb.function("cos", Double.class, cb.diff(longitudeRad, Math.toRadians(longitude)))),
+                Math.cos(Math.toRadians(latitude)));
+        Expression<Double> sines = cb.prod(cb.function("sin", Double.class, latitudeRad), Math.sin(Math.toRadians(latitude)));
+
+        // least() guards acos against rounding just above 1 for points at the search origin
+        Expression<Double> centralAngle = cb.function("acos", Double.class,
+                cb.function("least", Double.class, cb.literal(1.0), cb.sum(cosines, sines)));
+        return cb.prod(centralAngle, EARTH_RADIUS_KM);
+    }
+
+    private static boolean isEntityQuery(CriteriaQuery<?> query) {
+        return Property.class.equals(query.getResultType());
+    }
+
+    private static String likePattern(String value) {
+        return "%" + value.toLowerCase() + "%";
+    }
+}
@@ -2,6 +2,7 @@
 package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.Review;
+import com.nextinnomind.campusnestbackend.repository.projection.ReviewView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,11 +10,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
-    Page<Review> findByPropertyIdOrderByCreatedAtDesc(Long propertyId, Pageable pageable);
+    @Query(value = "SELECT new com.nextinnomind.campusnestbackend.repository.projection.ReviewView(" +
+            "r.id, p.id, p.title, u.id, u.fullName, u.profilePictureUrl, r.rating, r.comment, r.createdAt) " +
+            "FROM Review r JOIN r.property p JOIN r.reviewer u WHERE p.id = :propertyId ORDER BY r.createdAt DESC",
+            countQuery = "SELECT COUNT(r) FROM Review r WHERE r.property.id = :propertyId")
+    Page<ReviewView> findViewsByPropertyId(@Param("propertyId") Long propertyId, Pageable pageable);
     Page<Review> findByReviewerIdOrderByCreatedAtDesc(Long reviewerId, Pageable pageable);
     Optional<Review> findByPropertyIdAndReviewerId(Long propertyId, Long reviewerId);
 
@@ -22,4 +29,14 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT COUNT(r) FROM Review r WHERE r.property.id = :propertyId")
     Long getReviewCountByPropertyId(@Param("propertyId") Long propertyId);
+
+    @Query("SELECT r.property.id AS propertyId, SUM(r.rating) AS ratingSum, COUNT(r) AS totalReviews " +
+            "FROM Review r WHERE r.property.id IN :propertyIds GROUP BY r.property.id")
+    List<PropertyReviewStats> getReviewStatsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    interface PropertyReviewStats {
+        Long getPropertyId();
+        Long getRatingSum();
+        Long getTotalReviews();
+    }
 }
\ No newline at end of file
@@ -2,11 +2,14 @@
 package com.nextinnomind.campusnestbackend.repository;
 
 import com.nextinnomind.campusnestbackend.entity.Unit;
+import com.nextinnomind.campusnestbackend.repository.projection.ElementValue;
+import com.nextinnomind.campusnestbackend.repository.projection.UnitView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,4 +20,14 @@ public interface UnitRepository extends JpaRepository<Unit, Long> {
     @Query("SELECT u FROM Unit u WHERE u.property.id = :propertyId AND u.available = true " +
             "AND u.id NOT IN (SELECT br.unit.id FROM BookingRequest br WHERE br.status = 'APPROVED')")
     List<Unit> findAvailableUnitsByPropertyId(@Param("propertyId") Long propertyId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.nextinnomind.campusnestbackend.repository.projection.UnitView(" +
+            "u.id, u.property.id, u.name, u.type, u.capacity, u.bedroomCount, u.bathroomCount, " +
+            "u.monthlyRent, u.securityDeposit, u.available, u.description) " +
+            "FROM Unit u WHERE u.property.id IN :propertyIds ORDER BY u.id")
+    List<UnitView> findViewsByPropertyIds(@Param("propertyIds") Collection<Long> propertyIds);
+
+    @Query("SELECT new com.nextinnomind.campusnestbackend.repository.projection.ElementValue(u.id, amenity) " +
+            "FROM Unit u JOIN u.amenities amenity WHERE u.id IN :unitIds")
+    List<ElementValue> findAmenitiesByUnitIds(@Param("unitIds") Collection<Long> unitIds);
+}
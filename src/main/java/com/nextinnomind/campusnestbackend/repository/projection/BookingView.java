@@ -0,0 +1,29 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+import com.nextinnomind.campusnestbackend.enums.BookingStatus;
+import com.nextinnomind.campusnestbackend.enums.UnitType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Columns of a booking request and its property, unit and student as used by BookingResponse. */
+public record BookingView(
+        Long id,
+        Long propertyId,
+        String propertyTitle,
+        String propertyAddress,
+        Long unitId,
+        String unitName,
+        UnitType unitType,
+        Long studentId,
+        String studentFullName,
+        String studentEmail,
+        String studentPhone,
+        BookingStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        String studentMessage,
+        String landlordResponse,
+        LocalDateTime respondedAt,
+        LocalDateTime createdAt) {
+}
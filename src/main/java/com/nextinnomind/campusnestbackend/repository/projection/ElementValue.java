@@ -0,0 +1,5 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+/** One value of an element collection (photos, amenities) together with the id of its owner row. */
+public record ElementValue(Long ownerId, String value) {
+}
@@ -0,0 +1,18 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+import com.nextinnomind.campusnestbackend.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/** Columns of a payment as used by PaymentResponse. */
+public record PaymentView(
+        Long id,
+        BigDecimal amount,
+        String currency,
+        PaymentStatus status,
+        String paymentMethod,
+        String description,
+        LocalDateTime paidAt,
+        LocalDateTime createdAt) {
+}
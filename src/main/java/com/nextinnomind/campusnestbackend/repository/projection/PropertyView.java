@@ -0,0 +1,34 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** Scalar columns of a property and its owner as used by PropertyResponse. */
+public record PropertyView(
+        Long id,
+        String title,
+        String description,
+        String address,
+        Double latitude,
+        Double longitude,
+        BigDecimal basePrice,
+        String currency,
+        LocalDate availableFrom,
+        PropertyStatus status,
+        Boolean featured,
+        Integer viewCount,
+        Long ratingSum,
+        Integer reviewCount,
+        LocalDateTime createdAt,
+        Long ownerId,
+        String ownerFullName,
+        String ownerPhone,
+        String ownerProfilePictureUrl) {
+
+    public Double averageRating() {
+        return reviewCount == null || reviewCount == 0 ? null : ratingSum.doubleValue() / reviewCount;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/** Columns of a review and its property and reviewer as used by ReviewResponse. */
+public record ReviewView(
+        Long id,
+        Long propertyId,
+        String propertyTitle,
+        Long reviewerId,
+        String reviewerFullName,
+        String reviewerProfilePictureUrl,
+        Integer rating,
+        String comment,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,20 @@
+package com.nextinnomind.campusnestbackend.repository.projection;
+
+import com.nextinnomind.campusnestbackend.enums.UnitType;
+
+import java.math.BigDecimal;
+
+/** Scalar columns of a unit as used by UnitResponse. */
+public record UnitView(
+        Long id,
+        Long propertyId,
+        String name,
+        UnitType type,
+        Integer capacity,
+        Integer bedroomCount,
+        Integer bathroomCount,
+        BigDecimal monthlyRent,
+        BigDecimal securityDeposit,
+        Boolean available,
+        String description) {
+}
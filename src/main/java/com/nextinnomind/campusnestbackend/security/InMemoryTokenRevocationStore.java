@@ -0,0 +1,49 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Component
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final Cache<String, Instant> revokedTokens;
+    private final Cache<Long, Instant> revokedUsers;
+
+    public InMemoryTokenRevocationStore(@Value("${app.jwt.expiration}") long accessTokenLifetimeMs) {
+        Duration lifetime = Duration.ofMillis(accessTokenLifetimeMs);
+        this.revokedTokens = Caffeine.newBuilder().expireAfterWrite(lifetime).build();
+        this.revokedUsers = Caffeine.newBuilder().expireAfterWrite(lifetime).build();
+    }
+
+    @Override
+    public void revokeToken(String token, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) {
+            revokedTokens.put(signatureOf(token), expiresAt);
+        }
+    }
+
+    @Override
+    public void revokeUser(Long userId, Instant issuedBefore) {
+        revokedUsers.asMap().merge(userId, issuedBefore, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    // iat has second precision, so a token issued in the same second as a user revocation counts as revoked
+    @Override
+    public boolean isRevoked(String token, Long userId, Instant issuedAt) {
+        Instant userCutoff = revokedUsers.getIfPresent(userId);
+        if (userCutoff != null && issuedAt.isBefore(userCutoff)) {
+            return true;
+        }
+        return revokedTokens.getIfPresent(signatureOf(token)) != null;
+    }
+
+    // The signature segment identifies a token without keeping the whole string
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
+}
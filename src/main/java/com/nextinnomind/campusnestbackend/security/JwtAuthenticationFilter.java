@@ -1,21 +1,24 @@
 
 package com.nextinnomind.campusnestbackend.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -23,7 +26,24 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
-    private final CustomUserDetailsService userDetailsService;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationStore revocationStore;
+
+    @Value("${app.security.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+
+    @Value("${app.websocket.relay.enabled:false}")
+    private boolean multiNode;
+
+    // Stateless mode relies on revocations alone, and a per-node store only sees those made on this node
+    @PostConstruct
+    public void checkRevocationScope() {
+        if (statelessPrincipal && multiNode && revocationStore instanceof InMemoryTokenRevocationStore) {
+            throw new IllegalStateException("app.security.stateless-principal.enabled requires a shared "
+                    + "TokenRevocationStore when app.websocket.relay.enabled is set; logout and deactivation "
+                    + "on one node would not reach the others");
+        }
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -31,14 +51,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                // One signature check; the principal comes from the claims or the cache, not a lookup per request
+                tokenProvider.parseAndValidate(jwt)
+                        .filter(claims -> !JwtTokenProvider.isRefreshToken(claims))
+                        .filter(claims -> !revocationStore.isRevoked(jwt, Long.parseLong(claims.getSubject()),
+                                claims.getIssuedAt().toInstant()))
+                        .flatMap(this::resolvePrincipal)
+                        .ifPresent(principal -> {
+                            UsernamePasswordAuthenticationToken authentication =
+                                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                        });
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -47,6 +72,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Stateless mode trusts the verified claims; deactivated users are denied through the revocation store
+    private Optional<UserPrincipal> resolvePrincipal(Claims claims) {
+        if (statelessPrincipal) {
+            return Optional.of(JwtTokenProvider.principalFromClaims(claims));
+        }
+        return principalCache.get(Long.parseLong(claims.getSubject())).filter(UserPrincipal::isEnabled);
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
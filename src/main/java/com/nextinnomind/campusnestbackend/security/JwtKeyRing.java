@@ -0,0 +1,261 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Key pairs for signing and verifying JWTs, loaded from PEM files in {@code app.jwt.keys.location}:
+ * {@code <kid>.pub} (X.509 public key) and, for keys this node may sign with, {@code <kid>.key}
+ * (PKCS#8 private key). RSA keys sign with RS256, EC P-256 keys with ES256. RSA is preferred: every
+ * request verifies a token, and RSA verification is many times faster than ECDSA on the JDK.
+ *
+ * <p>The directory is re-read periodically. A public key is published (served in the JWKS and
+ * accepted for verification) as soon as it is read. A directory with a single private key signs
+ * with it; with several, the signing key must be named by an {@code active-kid} file in the
+ * directory (re-read on every reload) or by {@code app.jwt.keys.active-kid}, so a new key only
+ * signs once an operator activates it after publishing it everywhere.
+ *
+ * <p>Every node must share the directory's keys. Without a location, startup fails unless the dev
+ * or test profile is active, where an ephemeral key is generated instead.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    // Optional file in the key directory holding the kid to sign with, re-read on every reload
+    public static final String ACTIVE_KID_FILE = "active-kid";
+
+    // Profiles in which a missing key location falls back to an ephemeral key
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test");
+
+    private final String location;
+    private final String activeKid;
+
+    private volatile KeySet keys;
+
+    @Autowired
+    public JwtKeyRing(@Value("${app.jwt.keys.location:}") String location,
+                      @Value("${app.jwt.keys.active-kid:}") String activeKid,
+                      Environment environment) {
+        this(location, activeKid, environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES));
+    }
+
+    public JwtKeyRing(String location, String activeKid, boolean allowEphemeralKey) {
+        if (location.isBlank() && !allowEphemeralKey) {
+            throw new IllegalStateException("app.jwt.keys.location (JWT_KEYS_LOCATION) is not set. Every node must "
+                    + "load the same keys; an ephemeral key is only generated under the dev or test profile");
+        }
+        this.location = location;
+        this.activeKid = activeKid;
+        this.keys = location.isBlank() ? ephemeral() : load(Path.of(location), activeKid);
+        log.info("JWT signing key: {} ({} verification keys)", keys.signing().kid(), keys.verification().size());
+    }
+
+    // A failed reload keeps the current keys, so a half-copied rotation does not take the node down
+    @Scheduled(fixedDelayString = "${app.jwt.keys.reload-interval-ms:300000}",
+            initialDelayString = "${app.jwt.keys.reload-interval-ms:300000}")
+    public void reload() {
+        if (location.isBlank()) {
+            return;
+        }
+        try {
+            KeySet reloaded = load(Path.of(location), activeKid);
+            if (!reloaded.signing().kid().equals(keys.signing().kid())) {
+                log.info("JWT signing key rotated to {}", reloaded.signing().kid());
+            }
+            keys = reloaded;
+        } catch (RuntimeException e) {
+            log.error("Could not reload JWT keys from {}, keeping the current keys", location, e);
+        }
+    }
+
+    public SigningKey signingKey() {
+        return keys.signing();
+    }
+
+    public Optional<PublicKey> verificationKey(String kid) {
+        return Optional.ofNullable(kid).map(keys.verification()::get);
+    }
+
+    // Public keys as a JWK Set for services that verify access tokens themselves
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        keys.verification().forEach((kid, key) -> jwks.add(toJwk(kid, key)));
+        return Map.of("keys", jwks);
+    }
+
+    public record SigningKey(String kid, PrivateKey key, SignatureAlgorithm algorithm) {
+    }
+
+    private record KeySet(SigningKey signing, Map<String, PublicKey> verification) {
+    }
+
+    private static KeySet load(Path directory, String configuredActiveKid) {
+        Map<String, PublicKey> publicKeys = new TreeMap<>();
+        Map<String, PrivateKey> privateKeys = new TreeMap<>();
+        String activeKid;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".pub")) {
+                    publicKeys.put(name.substring(0, name.length() - 4), readPublicKey(file));
+                } else if (name.endsWith(".key")) {
+                    privateKeys.put(name.substring(0, name.length() - 4), readPrivateKey(file));
+                }
+            }
+            Path activeKidFile = directory.resolve(ACTIVE_KID_FILE);
+            activeKid = Files.exists(activeKidFile) ? Files.readString(activeKidFile).trim() : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JWT keys from " + directory, e);
+        }
+
+        privateKeys.keySet().stream()
+                .filter(kid -> !publicKeys.containsKey(kid))
+                .findFirst()
+                .ifPresent(kid -> {
+                    throw new IllegalStateException("JWT private key " + kid + " has no matching " + kid + ".pub");
+                });
+
+        // The signing key is never guessed from file order or timestamps, which differ between nodes
+        String kid = activeKid != null && !activeKid.isBlank() ? activeKid
+                : configuredActiveKid != null && !configuredActiveKid.isBlank() ? configuredActiveKid
+                : privateKeys.size() == 1 ? privateKeys.keySet().iterator().next()
+                : null;
+        if (kid == null) {
+            throw new IllegalStateException((privateKeys.isEmpty() ? "No JWT private key" : "Several JWT private keys")
+                    + " in " + directory + "; name the signing key in " + ACTIVE_KID_FILE + " or app.jwt.keys.active-kid");
+        }
+        PrivateKey privateKey = privateKeys.get(kid);
+        if (privateKey == null) {
+            throw new IllegalStateException("No JWT private key " + kid + ".key in " + directory);
+        }
+        SigningKey signing = new SigningKey(kid, privateKey, algorithmFor(publicKeys.get(kid)));
+        return new KeySet(signing, Collections.unmodifiableMap(publicKeys));
+    }
+
+    private static KeySet ephemeral() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair pair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+
+            log.warn("app.jwt.keys.location is not set; signing with an ephemeral key that is lost on restart "
+                    + "and not accepted by other nodes");
+            return new KeySet(new SigningKey(kid, pair.getPrivate(), SignatureAlgorithm.RS256),
+                    Map.of(kid, pair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate an ephemeral JWT key", e);
+        }
+    }
+
+    private static SignatureAlgorithm algorithmFor(PublicKey key) {
+        if (key instanceof RSAPublicKey) {
+            return SignatureAlgorithm.RS256;
+        }
+        if (key instanceof ECPublicKey ec && ec.getParams().getCurve().getField().getFieldSize() == 256) {
+            return SignatureAlgorithm.ES256;
+        }
+        throw new IllegalStateException("Unsupported JWT key; use RSA or EC P-256");
+    }
+
+    private static Map<String, Object> toJwk(String kid, PublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithmFor(key).getValue());
+        if (key instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (key instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+        }
+        return jwk;
+    }
+
+    // Unsigned big-endian bytes, left-padded to length for EC coordinates (RFC 7518 section 6)
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        int start = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        int size = Math.max(bytes.length - start, length);
+        byte[] unsigned = new byte[size];
+        System.arraycopy(bytes, start, unsigned, size - (bytes.length - start), bytes.length - start);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    private static PublicKey readPublicKey(Path file) {
+        X509EncodedKeySpec spec = new X509EncodedKeySpec(readPem(file));
+        return generate(file, factory -> factory.generatePublic(spec));
+    }
+
+    private static PrivateKey readPrivateKey(Path file) {
+        PKCS8EncodedKeySpec spec = new PKCS8EncodedKeySpec(readPem(file));
+        return generate(file, factory -> factory.generatePrivate(spec));
+    }
+
+    private static byte[] readPem(Path file) {
+        try {
+            String body = Files.readString(file).replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read JWT key " + file, e);
+        }
+    }
+
+    // The PEM does not say which algorithm the key is for, so EC and RSA are tried in turn
+    private static <K> K generate(Path file, KeyReader<K> reader) {
+        for (String algorithm : List.of("EC", "RSA")) {
+            try {
+                return reader.read(KeyFactory.getInstance(algorithm));
+            } catch (InvalidKeySpecException e) {
+                // not this algorithm
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not read JWT key " + file, e);
+            }
+        }
+        throw new IllegalStateException("JWT key " + file + " is neither an EC nor an RSA key");
+    }
+
+    @FunctionalInterface
+    private interface KeyReader<K> {
+        K read(KeyFactory factory) throws GeneralSecurityException;
+    }
+}
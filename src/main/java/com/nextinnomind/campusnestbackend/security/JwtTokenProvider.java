@@ -1,91 +1,114 @@
 
 package com.nextinnomind.campusnestbackend.security;
 
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.*;
+import io.jsonwebtoken.io.Serializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${app.jwt.expiration}")
-    private int jwtExpirationInMs;
-
-    @Value("${app.jwt.refresh-expiration}")
-    private int refreshTokenExpirationInMs;
+    private final JwtKeyRing keyRing;
+    private final int jwtExpirationInMs;
+    private final int refreshTokenExpirationInMs;
+
+    // Both immutable and thread-safe, so they are built once instead of on every call. The parser
+    // picks the verification key by the token's kid, so tokens signed before a rotation stay valid.
+    private final JwtParser parser;
+    private final Serializer<Map<String, ?>> serializer;
+
+    public JwtTokenProvider(JwtKeyRing keyRing,
+                            @Value("${app.jwt.expiration}") int jwtExpirationInMs,
+                            @Value("${app.jwt.refresh-expiration}") int refreshTokenExpirationInMs) {
+        this.keyRing = keyRing;
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.refreshTokenExpirationInMs = refreshTokenExpirationInMs;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+            // jjwt 0.11 declares this method with a raw JwsHeader, so an override cannot add <?>
+            @Override
+            @SuppressWarnings("rawtypes")
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                return keyRing.verificationKey(header.getKeyId())
+                        .orElseThrow(() -> new UnsupportedJwtException("Unknown JWT key id: " + header.getKeyId()));
+            }
+        }).build();
+        this.serializer = loadSerializer();
+    }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Jwts.builder() otherwise looks the JSON serializer up through the ServiceLoader for every token
+    @SuppressWarnings("unchecked")
+    private static Serializer<Map<String, ?>> loadSerializer() {
+        return ServiceLoader.load(Serializer.class).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No JWT JSON serializer on the classpath"));
     }
 
     public String generateAccessToken(Long userId, String email, String role) {
         Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
 
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .serializeToJsonWith(serializer)
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setSubject(userId.toString())
                 .claim("email", email)
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), signingKey.algorithm())
                 .compact();
     }
 
     public String generateRefreshToken(Long userId) {
         Date expiryDate = new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
 
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .serializeToJsonWith(serializer)
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid())
                 .setSubject(userId.toString())
                 .claim("type", "refresh")
                 .setIssuedAt(new Date())
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey.key(), signingKey.algorithm())
                 .compact();
     }
 
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return Long.parseLong(claims.getSubject());
-    }
-
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("email", String.class);
-    }
-
-    public boolean validateToken(String token) {
+    // Verifies the signature and expiry once and returns the claims, or empty for an invalid token
+    public Optional<Claims> parseAndValidate(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
 
+    public static boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get("type", String.class));
+    }
+
+    // The principal carried by a verified access token, built without loading the user
+    public static UserPrincipal principalFromClaims(Claims claims) {
+        return new UserPrincipal(User.builder()
+                .id(Long.parseLong(claims.getSubject()))
+                .email(claims.get("email", String.class))
+                .role(Role.valueOf(claims.get("role", String.class)))
+                .isActive(true)
+                .build());
+    }
+
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getExpiration();
+        return parser.parseClaimsJws(token).getBody().getExpiration();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import java.time.Instant;
+
+/**
+ * Deny list consulted for every access token. Entries only need to outlive the access token
+ * lifetime, after which the tokens they cover have expired anyway. The default implementation
+ * is per node; a shared implementation (e.g. backed by a cache cluster) makes revocations
+ * visible to every node.
+ */
+public interface TokenRevocationStore {
+
+    // A single token, e.g. on logout
+    void revokeToken(String token, Instant expiresAt);
+
+    // Every token of the user issued before the given instant, e.g. on deactivation or password change
+    void revokeUser(Long userId, Instant issuedBefore);
+
+    boolean isRevoked(String token, Long userId, Instant issuedAt);
+}
@@ -0,0 +1,42 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import com.nextinnomind.campusnestbackend.config.CacheConfig;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Resolves the principal of an authenticated request by user id, loading the user at most once
+ * per TTL. Account changes that affect authentication evict the entry once they commit.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache cache;
+    private final UserRepository userRepository;
+
+    public UserPrincipalCache(CacheManager cacheManager, UserRepository userRepository) {
+        this.cache = cacheManager.getCache(CacheConfig.USER_PRINCIPALS);
+        this.userRepository = userRepository;
+    }
+
+    public Optional<UserPrincipal> get(Long userId) {
+        UserPrincipal cached = cache.get(userId, UserPrincipal.class);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        // Unknown ids are not cached, so a user created later is found on the next request
+        Optional<UserPrincipal> loaded = userRepository.findById(userId).map(UserPrincipal::new);
+        loaded.ifPresent(principal -> cache.put(userId, principal));
+        return loaded;
+    }
+
+    public void evict(Long userId) {
+        TransactionUtil.afterCommit(() -> cache.evict(userId));
+    }
+}
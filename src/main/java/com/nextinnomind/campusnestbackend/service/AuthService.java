@@ -10,6 +10,9 @@ import com.nextinnomind.campusnestbackend.repository.RefreshTokenRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
 import com.nextinnomind.campusnestbackend.repository.VerificationTokenRepository;
 import com.nextinnomind.campusnestbackend.security.JwtTokenProvider;
+import com.nextinnomind.campusnestbackend.security.TokenRevocationStore;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,6 +43,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
     private final SmsService smsService;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Value("${app.jwt.refresh-expiration}")
     private int refreshTokenExpirationMs;
@@ -221,6 +225,9 @@ public class AuthService {
         }
 
         User user = refreshToken.getUser();
+        if (!Boolean.TRUE.equals(user.getIsActive())) {
+            throw new UnauthorizedException("Account is deactivated");
+        }
 
         // Generate new access token
         String accessToken = tokenProvider.generateAccessToken(
@@ -235,6 +242,19 @@ public class AuthService {
         return buildAuthResponse(user, accessToken, newRefreshToken);
     }
 
+    // Revokes the user's refresh tokens and denies the access token until it expires
+    public void logout(String accessToken) {
+        Claims claims = tokenProvider.parseAndValidate(accessToken)
+                .filter(parsed -> !JwtTokenProvider.isRefreshToken(parsed))
+                .orElseThrow(() -> new UnauthorizedException("Invalid access token"));
+        Long userId = Long.parseLong(claims.getSubject());
+
+        refreshTokenRepository.revokeAllUserTokens(userId);
+        TransactionUtil.afterCommit(() ->
+                tokenRevocationStore.revokeToken(accessToken, claims.getExpiration().toInstant()));
+        log.info("User logged out: {}", userId);
+    }
+
     private String createRefreshToken(User user) {
         String token = UUID.randomUUID().toString();
         LocalDateTime expiryDate = LocalDateTime.now().plusSeconds(refreshTokenExpirationMs / 1000);
@@ -13,6 +13,7 @@ import com.nextinnomind.campusnestbackend.repository.BookingRequestRepository;
 import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
 import com.nextinnomind.campusnestbackend.repository.UnitRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.repository.projection.BookingView;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,6 +38,7 @@ public class BookingService {
     private final UserRepository userRepository;
     private final ChatService chatService;
     private final EmailService emailService;
+    private final PropertyResponseCache propertyResponseCache;
 
     public BookingResponse createBooking(CreateBookingRequest request, Long studentId) {
         // Validate dates
@@ -95,7 +97,7 @@ public class BookingService {
 
     @Transactional(readOnly = true)
     public Page<BookingResponse> getUserBookings(Long userId, Pageable pageable) {
-        return bookingRepository.findByStudentId(userId, pageable)
+        return bookingRepository.findViewsByStudentId(userId, pageable)
                 .map(this::convertToResponse);
     }
 
@@ -150,6 +152,9 @@ public class BookingService {
         // Mark unit as unavailable for the booking period
         booking.getUnit().setAvailable(false);
         unitRepository.save(booking.getUnit());
+        // Unit availability is part of the property response, so it counts as a property change
+        booking.getProperty().setUpdatedAt(LocalDateTime.now());
+        propertyResponseCache.evictProperty(booking.getProperty().getId());
 
         BookingRequest savedBooking = bookingRepository.save(booking);
 
@@ -205,12 +210,15 @@ public class BookingService {
             throw new BadRequestException("Booking is already cancelled");
         }
 
+        boolean wasApproved = booking.getStatus() == BookingStatus.APPROVED;
         booking.setStatus(BookingStatus.CANCELLED);
 
         // Make unit available again if it was approved
-        if (booking.getStatus() == BookingStatus.APPROVED) {
+        if (wasApproved) {
             booking.getUnit().setAvailable(true);
             unitRepository.save(booking.getUnit());
+            booking.getProperty().setUpdatedAt(LocalDateTime.now());
+            propertyResponseCache.evictProperty(booking.getProperty().getId());
         }
 
         BookingRequest savedBooking = bookingRepository.save(booking);
@@ -248,4 +256,33 @@ public class BookingService {
                 .createdAt(booking.getCreatedAt())
                 .build();
     }
+
+    private BookingResponse convertToResponse(BookingView booking) {
+        return BookingResponse.builder()
+                .id(booking.id())
+                .property(BookingResponse.PropertyInfo.builder()
+                        .id(booking.propertyId())
+                        .title(booking.propertyTitle())
+                        .address(booking.propertyAddress())
+                        .build())
+                .unit(BookingResponse.UnitInfo.builder()
+                        .id(booking.unitId())
+                        .name(booking.unitName())
+                        .type(booking.unitType().name())
+                        .build())
+                .student(BookingResponse.StudentInfo.builder()
+                        .id(booking.studentId())
+                        .fullName(booking.studentFullName())
+                        .email(booking.studentEmail())
+                        .phone(booking.studentPhone())
+                        .build())
+                .status(booking.status())
+                .startDate(booking.startDate())
+                .endDate(booking.endDate())
+                .studentMessage(booking.studentMessage())
+                .landlordResponse(booking.landlordResponse())
+                .respondedAt(booking.respondedAt())
+                .createdAt(booking.createdAt())
+                .build();
+    }
 }
@@ -1,22 +1,40 @@
 package com.nextinnomind.campusnestbackend.service;
 
 import com.nextinnomind.campusnestbackend.dto.chat.*;
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
 import com.nextinnomind.campusnestbackend.entity.BookingRequest;
+import com.nextinnomind.campusnestbackend.entity.Conversation;
 import com.nextinnomind.campusnestbackend.entity.Message;
 import com.nextinnomind.campusnestbackend.entity.User;
 import com.nextinnomind.campusnestbackend.exception.BadRequestException;
 import com.nextinnomind.campusnestbackend.exception.ResourceNotFoundException;
+import com.nextinnomind.campusnestbackend.repository.ConversationRepository;
 import com.nextinnomind.campusnestbackend.repository.MessageRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.websocket.MessageSentEvent;
+import com.nextinnomind.campusnestbackend.websocket.PresenceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.List;
 
 
@@ -28,61 +46,62 @@ import java.util.stream.Collectors;
 @Transactional
 public class ChatService {
 
+    private static final int MAX_HISTORY_SIZE = 100;
+
+    // Insert-if-absent in portable SQL; a concurrent first message can still insert the row in
+    // between, which surfaces as a duplicate key
+    private static final String CREATE_CONVERSATION_SQL = "INSERT INTO conversations (id, participant_one_id, " +
+            "participant_two_id, participant_one_unread, participant_two_unread, created_at) " +
+            "SELECT ?, ?, ?, 0, 0, ? WHERE NOT EXISTS (SELECT 1 FROM conversations WHERE id = ?)";
+
     private final MessageRepository messageRepository;
+    private final ConversationRepository conversationRepository;
     private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PresenceService presenceService;
+    private final JdbcTemplate jdbcTemplate;
 
     @Transactional(readOnly = true)
-    public List<ConversationResponse> getUserConversations(Long userId, Pageable pageable) {
-        List<String> conversationIds = messageRepository.findConversationsByUserId(userId);
-
-        return conversationIds.stream()
-                .map(conversationId -> {
-                    // Get the latest message for each conversation
-                    Page<Message> messages = messageRepository.findByConversationIdOrderByCreatedAtDesc(
-                            conversationId, Pageable.ofSize(1));
-
-                    if (!messages.isEmpty()) {
-                        Message latestMessage = messages.getContent().get(0);
-                        User otherUser = latestMessage.getSender().getId().equals(userId)
-                                ? latestMessage.getReceiver() : latestMessage.getSender();
-
-                        Long unreadCount = messageRepository.countUnreadMessagesByReceiver(userId);
-
-                        return ConversationResponse.builder()
-                                .conversationId(conversationId)
-                                .otherUser(ConversationResponse.UserInfo.builder()
-                                        .id(otherUser.getId())
-                                        .fullName(otherUser.getFullName())
-                                        .profilePictureUrl(otherUser.getProfilePictureUrl())
-                                        .role(otherUser.getRole().name())
-                                        .build())
-                                .lastMessage(MessageResponse.builder()
-                                        .id(latestMessage.getId())
-                                        .content(latestMessage.getContent())
-                                        .senderId(latestMessage.getSender().getId())
-                                        .isRead(latestMessage.getIsRead())
-                                        .createdAt(latestMessage.getCreatedAt())
-                                        .build())
-                                .unreadCount(unreadCount.intValue())
-                                .build();
-                    }
-                    return null;
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(Collectors.toList()); // no cast needed
+    public Page<ConversationResponse> getUserConversations(Long userId, Pageable pageable) {
+        return conversationRepository.findByParticipantId(userId, pageable)
+                .map(conversation -> convertToConversationResponse(conversation, userId));
     }
 
     @Transactional(readOnly = true)
-    public Page<MessageResponse> getMessages(String conversationId, Long userId, Pageable pageable) {
+    public long getUnreadCount(Long userId) {
+        return conversationRepository.sumUnreadCountByParticipantId(userId);
+    }
+
+    // Creates conversation rows for messages sent before conversations were tracked
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillConversations() {
+        int created = conversationRepository.backfillFromMessages();
+        if (created > 0) {
+            log.info("Backfilled {} conversations from existing messages", created);
+        }
+    }
+
+    /**
+     * One slice of a conversation's history, newest first. Pass the id of the oldest message
+     * received as {@code before} to scroll further back; messages arriving meanwhile never shift
+     * the slices already read.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getMessages(String conversationId, Long userId, Long before, int size) {
         // Verify user has access to this conversation
-        List<String> userConversations = messageRepository.findConversationsByUserId(userId);
-        if (!userConversations.contains(conversationId)) {
+        if (!isParticipant(conversationId, userId)) {
             throw new BadRequestException("You don't have access to this conversation");
         }
 
-        return messageRepository.findByConversationIdOrderByCreatedAtDesc(conversationId, pageable)
-                .map(this::convertToMessageResponse);
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_SIZE));
+        List<Message> rows = before == null
+                ? messageRepository.findLatest(conversationId, Limit.of(limit + 1))
+                : messageRepository.findBefore(conversationId, before, Limit.of(limit + 1));
+
+        boolean hasNext = rows.size() > limit;
+        List<Message> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? String.valueOf(slice.get(limit - 1).getId()) : null;
+        return CursorPage.of(slice.stream().map(this::convertToMessageResponse).collect(Collectors.toList()), nextCursor);
     }
 
     public ConversationResponse startConversation(StartConversationRequest request, Long senderId) {
@@ -113,6 +132,7 @@ public class ChatService {
                         .fullName(receiver.getFullName())
                         .profilePictureUrl(receiver.getProfilePictureUrl())
                         .role(receiver.getRole().name())
+                        .online(presenceService.isOnline(receiver.getId()))
                         .build())
                 .unreadCount(0)
                 .build();
@@ -135,15 +155,12 @@ public class ChatService {
                 .build();
 
         Message savedMessage = messageRepository.save(message);
+        recordInConversation(savedMessage);
 
         MessageResponse messageResponse = convertToMessageResponse(savedMessage);
 
-        // Send real-time notification
-        messagingTemplate.convertAndSendToUser(
-                receiver.getId().toString(),
-                "/queue/messages",
-                messageResponse
-        );
+        // Pushed to the receiver once the message commits
+        eventPublisher.publishEvent(MessageSentEvent.of(receiver.getId(), messageResponse));
 
         log.info("Message sent from user {} to user {} in conversation {}",
                 senderId, receiverId, conversationId);
@@ -151,8 +168,15 @@ public class ChatService {
         return messageResponse;
     }
 
+    // Pure id parsing, so high-frequency callers such as typing frames never open a transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long getOtherParticipant(String conversationId, Long userId) {
+        return extractReceiverIdFromConversation(conversationId, userId);
+    }
+
     public void markConversationAsRead(String conversationId, Long userId) {
         messageRepository.markConversationAsRead(conversationId, userId);
+        conversationRepository.clearUnreadCount(conversationId, userId);
         log.info("Marked conversation {} as read by user {}", conversationId, userId);
     }
 
@@ -178,13 +202,57 @@ public class ChatService {
                 .build();
 
         messageRepository.save(message);
+        recordInConversation(message);
 
         // Notify landlord
-        messagingTemplate.convertAndSendToUser(
-                booking.getProperty().getOwner().getId().toString(),
-                "/queue/messages",
-                convertToMessageResponse(message)
-        );
+        eventPublisher.publishEvent(MessageSentEvent.of(
+                booking.getProperty().getOwner().getId(), convertToMessageResponse(message)));
+    }
+
+    // Moves the conversation's last-message snapshot forward and bumps the receiver's unread count
+    private void recordInConversation(Message message) {
+        User sender = message.getSender();
+        User receiver = message.getReceiver();
+        boolean receiverIsParticipantOne = receiver.getId() < sender.getId();
+
+        createConversationIfAbsent(message.getConversationId(), Math.min(sender.getId(), receiver.getId()),
+                Math.max(sender.getId(), receiver.getId()), message.getCreatedAt());
+
+        int updated = conversationRepository.recordMessage(message.getConversationId(), message.getId(),
+                message.getContent(), sender.getId(), message.getCreatedAt(),
+                receiverIsParticipantOne ? 1 : 0, receiverIsParticipantOne ? 0 : 1);
+        if (updated == 0) {
+            // Only under REPEATABLE READ or stricter: the row a concurrent first message committed
+            // is outside this transaction's snapshot, so the send has to be retried as a whole
+            throw new ConcurrencyFailureException(
+                    "Conversation " + message.getConversationId() + " was created concurrently; retry the message");
+        }
+    }
+
+    // Runs on the transaction's connection inside a savepoint, so losing the race to a concurrent
+    // first message rolls back only the duplicate insert and the counter update still follows
+    private void createConversationIfAbsent(String conversationId, Long participantOneId, Long participantTwoId,
+                                            LocalDateTime createdAt) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try (PreparedStatement insert = connection.prepareStatement(CREATE_CONVERSATION_SQL)) {
+                insert.setString(1, conversationId);
+                insert.setLong(2, participantOneId);
+                insert.setLong(3, participantTwoId);
+                insert.setTimestamp(4, Timestamp.valueOf(createdAt));
+                insert.setString(5, conversationId);
+                insert.executeUpdate();
+                connection.releaseSavepoint(savepoint);
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                if (!(jdbcTemplate.getExceptionTranslator().translate("createConversation", CREATE_CONVERSATION_SQL, e)
+                        instanceof DuplicateKeyException)) {
+                    throw e;
+                }
+                log.debug("Conversation {} was created by a concurrent message", conversationId);
+            }
+            return null;
+        });
     }
 
     private String generateConversationId(Long userId1, Long userId2) {
@@ -195,24 +263,65 @@ public class ChatService {
     }
 
     private Long extractReceiverIdFromConversation(String conversationId, Long senderId) {
-        // Parse conversation ID to get the other user ID
-        String[] parts = conversationId.split("_");
-        if (parts.length == 3) {
-            Long id1 = Long.parseLong(parts[1]);
-            Long id2 = Long.parseLong(parts[2]);
-            return id1.equals(senderId) ? id2 : id1;
+        long[] participants = parseParticipants(conversationId);
+        if (participants == null) {
+            throw new BadRequestException("Invalid conversation");
+        }
+        if (!isParticipant(participants, senderId)) {
+            throw new BadRequestException("You don't have access to this conversation");
         }
+        return participants[0] == senderId ? participants[1] : participants[0];
+    }
+
+    // Conversation ids encode both participants, so membership is checked without a query
+    private static boolean isParticipant(String conversationId, Long userId) {
+        long[] participants = parseParticipants(conversationId);
+        return participants != null && isParticipant(participants, userId);
+    }
+
+    private static boolean isParticipant(long[] participants, Long userId) {
+        return participants[0] == userId || participants[1] == userId;
+    }
 
-        // Fallback: find from existing messages
-        Page<Message> messages = messageRepository.findByConversationIdOrderByCreatedAtDesc(
-                conversationId, Pageable.ofSize(1));
-        if (!messages.isEmpty()) {
-            Message lastMessage = messages.getContent().get(0);
-            return lastMessage.getSender().getId().equals(senderId)
-                    ? lastMessage.getReceiver().getId() : lastMessage.getSender().getId();
+    // The two user ids of a well-formed conv_<smaller>_<larger> id, or null
+    private static long[] parseParticipants(String conversationId) {
+        String[] parts = conversationId != null ? conversationId.split("_") : new String[0];
+        if (parts.length != 3 || !"conv".equals(parts[0])) {
+            return null;
         }
+        try {
+            long first = Long.parseLong(parts[1]);
+            long second = Long.parseLong(parts[2]);
+            return first < second ? new long[]{first, second} : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 
-        throw new BadRequestException("Invalid conversation");
+    private ConversationResponse convertToConversationResponse(Conversation conversation, Long userId) {
+        User otherUser = conversation.getOtherParticipant(userId);
+        Long lastReceiverId = conversation.getLastMessageSenderId() == null ? null
+                : conversation.getOtherParticipant(conversation.getLastMessageSenderId()).getId();
+
+        return ConversationResponse.builder()
+                .conversationId(conversation.getId())
+                .otherUser(ConversationResponse.UserInfo.builder()
+                        .id(otherUser.getId())
+                        .fullName(otherUser.getFullName())
+                        .profilePictureUrl(otherUser.getProfilePictureUrl())
+                        .role(otherUser.getRole().name())
+                        .online(presenceService.isOnline(otherUser.getId()))
+                        .build())
+                .lastMessage(conversation.getLastMessageId() == null ? null : MessageResponse.builder()
+                        .id(conversation.getLastMessageId())
+                        .content(conversation.getLastMessageContent())
+                        .senderId(conversation.getLastMessageSenderId())
+                        .receiverId(lastReceiverId)
+                        .isRead(conversation.isLastMessageRead())
+                        .createdAt(conversation.getLastActivityAt())
+                        .build())
+                .unreadCount(conversation.getUnreadCountFor(userId))
+                .build();
     }
 
     private MessageResponse convertToMessageResponse(Message message) {
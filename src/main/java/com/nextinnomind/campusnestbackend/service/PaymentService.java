@@ -10,6 +10,7 @@ import com.nextinnomind.campusnestbackend.exception.ResourceNotFoundException;
 import com.nextinnomind.campusnestbackend.repository.BookingRequestRepository;
 import com.nextinnomind.campusnestbackend.repository.PaymentRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.repository.projection.PaymentView;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
@@ -120,7 +121,7 @@ public class PaymentService {
 
     @Transactional(readOnly = true)
     public Page<PaymentResponse> getUserPayments(Long userId, Pageable pageable) {
-        return paymentRepository.findByStudentId(userId, pageable)
+        return paymentRepository.findViewsByStudentId(userId, pageable)
                 .map(this::convertToResponse);
     }
 
@@ -180,6 +181,19 @@ public class PaymentService {
                 .build();
     }
 
+    private PaymentResponse convertToResponse(PaymentView payment) {
+        return PaymentResponse.builder()
+                .id(payment.id())
+                .amount(payment.amount())
+                .currency(payment.currency())
+                .status(payment.status().name())
+                .paymentMethod(payment.paymentMethod())
+                .description(payment.description())
+                .paidAt(payment.paidAt())
+                .createdAt(payment.createdAt())
+                .build();
+    }
+
     public PaymentResponse confirmPayment(Long id, String transactionId, Long id1) {
         return null;
     }
@@ -0,0 +1,126 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.entity.Property;
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
+import com.nextinnomind.campusnestbackend.util.KdTree;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional in-process spatial index over ACTIVE property coordinates, serving radius searches
+ * without touching the database. Enabled with app.search.geo-index.enabled.
+ *
+ * <p>The tree is immutable, so listing writes are applied by rebuilding it on a background thread
+ * while searches keep reading the previous tree; a search may miss a write for the duration of
+ * one rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyGeoIndex {
+
+    private final PropertyRepository propertyRepository;
+
+    @Value("${app.search.geo-index.enabled:false}")
+    private boolean enabled;
+
+    private final Map<Long, double[]> locations = new ConcurrentHashMap<>();
+
+    private volatile KdTree tree = KdTree.build(new long[0], new double[0], new double[0]);
+
+    // One rebuild running and at most one waiting; a waiting rebuild has not taken its snapshot
+    // yet, so any further write is already covered by it and its own rebuild is discarded
+    private final ThreadPoolExecutor rebuilder = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), new CustomizableThreadFactory("geo-index-rebuild-"),
+            new ThreadPoolExecutor.DiscardPolicy());
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        locations.clear();
+        propertyRepository.findActiveLocations().forEach(location -> locations.put(location.getId(),
+                new double[]{location.getLatitude(), location.getLongitude()}));
+        tree = snapshot();
+        log.info("Built property geo index with {} active listings", tree.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    public void update(Property property) {
+        if (!enabled) {
+            return;
+        }
+
+        Long id = property.getId();
+        boolean active = property.getStatus() == PropertyStatus.ACTIVE;
+        double[] location = {property.getLatitude(), property.getLongitude()};
+        TransactionUtil.afterCommit(() -> {
+            if (active) {
+                locations.put(id, location);
+            } else {
+                locations.remove(id);
+            }
+            scheduleRebuild();
+        });
+    }
+
+    public void remove(Long propertyId) {
+        if (!enabled) {
+            return;
+        }
+
+        TransactionUtil.afterCommit(() -> {
+            locations.remove(propertyId);
+            scheduleRebuild();
+        });
+    }
+
+    public List<KdTree.Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        return tree.withinRadius(latitude, longitude, radiusKm);
+    }
+
+    private void scheduleRebuild() {
+        rebuilder.execute(() -> tree = snapshot());
+    }
+
+    private KdTree snapshot() {
+        List<Map.Entry<Long, double[]>> entries = new ArrayList<>(locations.entrySet());
+        long[] ids = new long[entries.size()];
+        double[] latitudes = new double[entries.size()];
+        double[] longitudes = new double[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            ids[i] = entries.get(i).getKey();
+            latitudes[i] = entries.get(i).getValue()[0];
+            longitudes[i] = entries.get(i).getValue()[1];
+        }
+        return KdTree.build(ids, latitudes, longitudes);
+    }
+}
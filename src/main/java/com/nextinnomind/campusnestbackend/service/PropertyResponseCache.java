@@ -0,0 +1,142 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.config.CacheConfig;
+import com.nextinnomind.campusnestbackend.dto.common.ResourceVersion;
+import com.nextinnomind.campusnestbackend.dto.property.PropertyResponse;
+import com.nextinnomind.campusnestbackend.entity.CatalogVersion;
+import com.nextinnomind.campusnestbackend.repository.CatalogVersionRepository;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Caches the responses of the public property detail and search endpoints. Any write that can
+ * change a listing moves the shared catalog generation in its own transaction, and evicts its
+ * detail entry and every cached search page once it commits.
+ */
+@Service
+public class PropertyResponseCache {
+
+    private final Cache detailsCache;
+    private final Cache searchCache;
+    private final CatalogVersionRepository catalogVersionRepository;
+
+    public PropertyResponseCache(CacheManager cacheManager, CatalogVersionRepository catalogVersionRepository) {
+        this.detailsCache = cacheManager.getCache(CacheConfig.PROPERTY_DETAILS);
+        this.searchCache = cacheManager.getCache(CacheConfig.PROPERTY_SEARCH);
+        this.catalogVersionRepository = catalogVersionRepository;
+    }
+
+    // Every node starts the same way, so losing the race to create the row is expected
+    @PostConstruct
+    public void createCatalogVersion() {
+        if (!catalogVersionRepository.existsById(CatalogVersion.CATALOG_ID)) {
+            try {
+                catalogVersionRepository.save(new CatalogVersion(CatalogVersion.CATALOG_ID, 0L));
+            } catch (DataIntegrityViolationException e) {
+                // Created by another node
+            }
+        }
+    }
+
+    /**
+     * Version of the search results, the same on every node: the ETag is derived from the shared
+     * catalog generation, and cached search pages are keyed by the generation they were read at,
+     * so a write made on another node is never served under the new ETag from a stale entry.
+     */
+    public ResourceVersion getCatalogVersion() {
+        return ResourceVersion.of(null, "catalog", currentGeneration());
+    }
+
+    public PropertyResponse getDetails(Long propertyId, Supplier<PropertyResponse> loader) {
+        return get(detailsCache, propertyId, loader);
+    }
+
+    // The generation is read before the search runs, so an entry is never older than its generation
+    public Page<PropertyResponse> getSearch(SearchKey key, Supplier<Page<PropertyResponse>> loader) {
+        return get(searchCache, new GenerationKey(currentGeneration(), key), loader);
+    }
+
+    public void evictProperty(Long propertyId) {
+        catalogVersionRepository.increment(CatalogVersion.CATALOG_ID);
+        TransactionUtil.afterCommit(() -> {
+            detailsCache.evict(propertyId);
+            clearSearches();
+        });
+    }
+
+    public void evictSearches() {
+        catalogVersionRepository.increment(CatalogVersion.CATALOG_ID);
+        TransactionUtil.afterCommit(this::clearSearches);
+    }
+
+    // Owner details are embedded in every listing response
+    public void evictAll() {
+        catalogVersionRepository.increment(CatalogVersion.CATALOG_ID);
+        TransactionUtil.afterCommit(() -> {
+            detailsCache.clear();
+            clearSearches();
+        });
+    }
+
+    // Entries of older generations are no longer reachable; clearing them only frees the memory sooner
+    private void clearSearches() {
+        searchCache.clear();
+    }
+
+    private long currentGeneration() {
+        return catalogVersionRepository.findGeneration(CatalogVersion.CATALOG_ID).orElse(0L);
+    }
+
+    // Rethrows loader exceptions (e.g. ResourceNotFoundException) unwrapped so they map to the usual responses
+    private static <T> T get(Cache cache, Object key, Supplier<T> loader) {
+        try {
+            return cache.get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record GenerationKey(long generation, SearchKey key) {
+    }
+
+    /**
+     * Search parameters normalized so that requests returning the same page share an entry:
+     * text is trimmed and lower-cased, amenities are de-duplicated and sorted, prices ignore scale.
+     * The search itself runs on these normalized values.
+     */
+    public record SearchKey(String query, String address, Double lat, Double lng, Double radiusKm,
+                            BigDecimal minPrice, BigDecimal maxPrice, List<String> amenities,
+                            int page, int size, String sort) {
+
+        public static SearchKey of(String query, String address, Double lat, Double lng, Double radiusKm,
+                                   BigDecimal minPrice, BigDecimal maxPrice, List<String> amenities,
+                                   Pageable pageable) {
+            return new SearchKey(normalize(query), normalize(address), lat, lng, radiusKm,
+                    normalize(minPrice), normalize(maxPrice),
+                    amenities != null ? amenities.stream().distinct().sorted().toList() : List.of(),
+                    pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        }
+
+        private static String normalize(String text) {
+            return text != null && !text.isBlank() ? text.trim().toLowerCase(Locale.ROOT) : null;
+        }
+
+        private static BigDecimal normalize(BigDecimal price) {
+            return price != null ? price.stripTrailingZeros() : null;
+        }
+    }
+}
@@ -0,0 +1,427 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.entity.Property;
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Embedded Lucene index over the title, address, description and amenities of ACTIVE
+ * properties, giving relevance-ranked keyword search with prefix and typo tolerance.
+ * Every search filter (address, price, amenities, radius) is applied inside the index, so a
+ * keyword page is one index query followed by one load of that page's ids.
+ * The index is rebuilt from the database at startup and kept in sync by {@link PropertyService}.
+ * Each instance has its own index and only sees the listing writes it handles, so it is off by
+ * default (app.search.text-index.enabled) and meant for single-instance deployments.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertySearchIndex {
+
+    private static final String ID = "id";
+    private static final String ID_ORDER = "id_order";
+    private static final String TITLE = "title";
+    private static final String ADDRESS = "address";
+    private static final String DESCRIPTION = "description";
+    private static final String AMENITIES = "amenities";
+    private static final String AMENITY = "amenity";
+    private static final String PRICE = "price";
+    private static final String LOCATION = "location";
+    private static final String CREATED = "created";
+
+    // Field weights: a match in the title outranks one in the address, which outranks the description
+    private static final Map<String, Float> FIELD_BOOSTS = orderedBoosts();
+
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final float FUZZY_WEIGHT = 0.3f;
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final PropertyRepository propertyRepository;
+
+    @Value("${app.search.text-index.enabled:false}")
+    private boolean enabled;
+
+    // Blank keeps the index in memory; a path keeps it on the local filesystem
+    @Value("${app.search.text-index.directory:}")
+    private String directoryPath;
+
+    private final Analyzer analyzer = new StandardAnalyzer(EnglishAnalyzer.ENGLISH_STOP_WORDS_SET);
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            directory = directoryPath == null || directoryPath.isBlank()
+                    ? new ByteBuffersDirectory()
+                    : FSDirectory.open(Paths.get(directoryPath).toAbsolutePath().normalize());
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not open property search index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        writer.deleteAll();
+        int indexed = 0;
+        Page<Property> batch;
+        int page = 0;
+        do {
+            batch = propertyRepository.findByStatus(PropertyStatus.ACTIVE,
+                    PageRequest.of(page++, REBUILD_BATCH_SIZE, Sort.by("id")));
+            for (Property property : batch) {
+                writer.addDocument(toDocument(property));
+                indexed++;
+            }
+        } while (batch.hasNext());
+
+        writer.commit();
+        searcherManager.maybeRefresh();
+        log.info("Built property search index with {} active listings", indexed);
+    }
+
+    // Writes are searchable as soon as they are applied; the commit that makes them durable on
+    // disk runs on this interval instead of fsyncing every listing write
+    @Scheduled(fixedDelayString = "${app.search.text-index.commit-interval-ms:60000}")
+    public void commit() {
+        if (!enabled || !writer.hasUncommittedChanges()) {
+            return;
+        }
+
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            // Uncommitted changes stay searchable and the next rebuild restores anything lost
+            log.error("Failed to commit property search index", e);
+        }
+    }
+
+    public void update(Property property) {
+        if (!enabled) {
+            return;
+        }
+
+        // The document is built inside the transaction, while lazy amenities can still be read
+        String id = property.getId().toString();
+        Document document = property.getStatus() == PropertyStatus.ACTIVE ? toDocument(property) : null;
+        TransactionUtil.afterCommit(() -> apply(id, document));
+    }
+
+    public void remove(Long propertyId) {
+        if (!enabled) {
+            return;
+        }
+
+        String id = propertyId.toString();
+        TransactionUtil.afterCommit(() -> apply(id, null));
+    }
+
+    /**
+     * Returns the ids of the best {@code limit} listings matching the keywords and filters,
+     * most relevant first, along with the total number of matches.
+     */
+    public SearchHits search(String text, Filters filters, int limit) {
+        Query query = buildQuery(text, filters);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, Math.max(1, limit));
+                return new SearchHits(idsOf(searcher, topDocs), searcher.count(query));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Property search failed", e);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} listings matching the keywords and filters in feed order, nearest
+     * first when the filters have a location and newest first otherwise, starting after the given
+     * hit. Each hit carries its sort key so the caller can resume after it.
+     */
+    public List<FeedHit> feed(String text, Filters filters, FeedHit after, int limit) {
+        Query query = buildQuery(text, filters);
+        org.apache.lucene.search.Sort sort = filters.hasLocation()
+                ? new org.apache.lucene.search.Sort(
+                        LatLonDocValuesField.newDistanceSort(LOCATION, filters.latitude(), filters.longitude()),
+                        new SortField(ID_ORDER, SortField.Type.LONG))
+                : new org.apache.lucene.search.Sort(
+                        new SortField(CREATED, SortField.Type.LONG, true),
+                        new SortField(ID_ORDER, SortField.Type.LONG, true));
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int maxDoc = searcher.getIndexReader().maxDoc();
+                if (maxDoc == 0) {
+                    return List.of();
+                }
+                // The sort ends in the unique id, so only the last listing itself ties with the
+                // position; giving it the highest doc id of this snapshot skips it
+                FieldDoc position = after != null
+                        ? new FieldDoc(maxDoc - 1, Float.NaN, new Object[]{after.sortKey(), after.id()})
+                        : null;
+                TopDocs topDocs = searcher.searchAfter(position, query, Math.max(1, limit), sort);
+                List<Long> ids = idsOf(searcher, topDocs);
+                List<FeedHit> hits = new ArrayList<>(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    hits.add(new FeedHit(ids.get(i), (Number) ((FieldDoc) topDocs.scoreDocs[i]).fields[0]));
+                }
+                return hits;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Property search failed", e);
+        }
+    }
+
+    private Query buildQuery(String text, Filters filters) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+
+        List<String> keywords = analyze(text);
+        if (keywords.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        for (String keyword : keywords) {
+            query.add(keywordQuery(keyword), BooleanClause.Occur.MUST);
+        }
+
+        List<String> addressTerms = analyze(filters.address());
+        for (int i = 0; i < addressTerms.size(); i++) {
+            Term term = new Term(ADDRESS, addressTerms.get(i));
+            // The last word may still be being typed
+            Query addressQuery = i == addressTerms.size() - 1 ? new PrefixQuery(term) : new TermQuery(term);
+            query.add(addressQuery, BooleanClause.Occur.FILTER);
+        }
+
+        if (filters.minPrice() != null || filters.maxPrice() != null) {
+            query.add(DoublePoint.newRangeQuery(PRICE,
+                    filters.minPrice() != null ? filters.minPrice().doubleValue() : Double.NEGATIVE_INFINITY,
+                    filters.maxPrice() != null ? filters.maxPrice().doubleValue() : Double.POSITIVE_INFINITY),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        // Amenities match exactly, as in the database filter
+        if (filters.amenities() != null) {
+            for (String amenity : new LinkedHashSet<>(filters.amenities())) {
+                query.add(new TermQuery(new Term(AMENITY, amenity)), BooleanClause.Occur.FILTER);
+            }
+        }
+
+        if (filters.hasLocation()) {
+            query.add(LatLonPoint.newDistanceQuery(LOCATION, filters.latitude(), filters.longitude(),
+                    filters.radiusKm() * 1000), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static List<Long> idsOf(IndexSearcher searcher, TopDocs topDocs) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            ids.add(Long.valueOf(storedFields.document(scoreDoc.doc, Set.of(ID)).get(ID)));
+        }
+        return ids;
+    }
+
+    // Exact matches score highest, then prefix matches, then matches within a small edit distance
+    private Query keywordQuery(String keyword) {
+        int maxEdits = keyword.length() < 4 ? 0 : keyword.length() < 8 ? 1 : 2;
+
+        BooleanQuery.Builder anyField = new BooleanQuery.Builder();
+        FIELD_BOOSTS.forEach((field, boost) -> {
+            Term term = new Term(field, keyword);
+            anyField.add(new BoostQuery(new TermQuery(term), boost), BooleanClause.Occur.SHOULD);
+            anyField.add(new BoostQuery(new PrefixQuery(term), boost * PREFIX_WEIGHT), BooleanClause.Occur.SHOULD);
+            if (maxEdits > 0) {
+                anyField.add(new BoostQuery(new FuzzyQuery(term, maxEdits), boost * FUZZY_WEIGHT), BooleanClause.Occur.SHOULD);
+            }
+        });
+        return anyField.build();
+    }
+
+    private void apply(String id, Document document) {
+        try {
+            if (document != null) {
+                writer.updateDocument(new Term(ID, id), document);
+            } else {
+                writer.deleteDocuments(new Term(ID, id));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            // The listing is picked up again by the next rebuild
+            log.error("Failed to update search index for property {}", id, e);
+        }
+    }
+
+    private Document toDocument(Property property) {
+        Document document = new Document();
+        document.add(new StringField(ID, property.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_ORDER, property.getId()));
+        addText(document, TITLE, property.getTitle());
+        addText(document, ADDRESS, property.getAddress());
+        addText(document, DESCRIPTION, property.getDescription());
+        if (property.getAmenities() != null) {
+            property.getAmenities().forEach(amenity -> {
+                addText(document, AMENITIES, amenity);
+                document.add(new StringField(AMENITY, amenity, Field.Store.NO));
+            });
+        }
+        if (property.getBasePrice() != null) {
+            document.add(new DoublePoint(PRICE, property.getBasePrice().doubleValue()));
+        }
+        if (property.getLatitude() != null && property.getLongitude() != null) {
+            document.add(new LatLonPoint(LOCATION, property.getLatitude(), property.getLongitude()));
+            document.add(new LatLonDocValuesField(LOCATION, property.getLatitude(), property.getLongitude()));
+        }
+        if (property.getCreatedAt() != null) {
+            document.add(new NumericDocValuesField(CREATED, createdKey(property.getCreatedAt())));
+        }
+        return document;
+    }
+
+    // Nanoseconds of the local timestamp; only ever compared with each other
+    private static long createdKey(LocalDateTime createdAt) {
+        return createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + createdAt.getNano();
+    }
+
+    private static void addText(Document document, String field, String value) {
+        if (value != null) {
+            document.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not analyze search text", e);
+        }
+        return terms;
+    }
+
+    private static Map<String, Float> orderedBoosts() {
+        Map<String, Float> boosts = new LinkedHashMap<>();
+        boosts.put(TITLE, 3.0f);
+        boosts.put(ADDRESS, 2.0f);
+        boosts.put(AMENITIES, 1.5f);
+        boosts.put(DESCRIPTION, 1.0f);
+        return boosts;
+    }
+
+    public record SearchHits(List<Long> ids, long total) {
+    }
+
+    /** Filters applied inside the index; like PropertySpecifications, a missing value filters nothing. */
+    public record Filters(String address, BigDecimal minPrice, BigDecimal maxPrice, List<String> amenities,
+                          Double latitude, Double longitude, double radiusKm) {
+
+        public boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+    }
+
+    /** A feed listing and its sort key: distance in metres for nearest first, created time for newest first. */
+    public record FeedHit(Long id, Number sortKey) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.nextinnomind.campusnestbackend.service;
 
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
+import com.nextinnomind.campusnestbackend.dto.common.ResourceVersion;
 import com.nextinnomind.campusnestbackend.dto.property.*;
 import com.nextinnomind.campusnestbackend.entity.Property;
 import com.nextinnomind.campusnestbackend.entity.Unit;
@@ -8,21 +10,40 @@ import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
 import com.nextinnomind.campusnestbackend.exception.BadRequestException;
 import com.nextinnomind.campusnestbackend.exception.ResourceNotFoundException;
 import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
-import com.nextinnomind.campusnestbackend.repository.ReviewRepository;
+import com.nextinnomind.campusnestbackend.repository.PropertySpecifications;
 import com.nextinnomind.campusnestbackend.repository.UnitRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.repository.projection.ElementValue;
+import com.nextinnomind.campusnestbackend.repository.projection.PropertyView;
+import com.nextinnomind.campusnestbackend.repository.projection.UnitView;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
+import com.nextinnomind.campusnestbackend.util.CursorCodec;
+import com.nextinnomind.campusnestbackend.util.KdTree;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,12 +52,23 @@ import java.util.stream.Collectors;
 @Transactional
 public class PropertyService {
 
+    private static final double DEFAULT_RADIUS_KM = 5.0;
+
+    private static final int MAX_FEED_SIZE = 100;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final PropertyRepository propertyRepository;
     private final UnitRepository unitRepository;
     private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
     private final FileStorageService fileStorageService;
-
+    private final PropertyViewCounter propertyViewCounter;
+    private final PropertyGeoIndex propertyGeoIndex;
+    private final PropertySearchIndex propertySearchIndex;
+    private final PropertyResponseCache propertyResponseCache;
+    private final PlatformTransactionManager transactionManager;
+
+    // Cache hits are served without opening a transaction or borrowing a connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Page<PropertyResponse> searchProperties(
             String query,
             String address,
@@ -48,44 +80,246 @@ public class PropertyService {
             List<String> amenities,
             Pageable pageable) {
 
+        PropertyResponseCache.SearchKey key = PropertyResponseCache.SearchKey.of(
+                query, address, lat, lng, radiusKm, minPrice, maxPrice, amenities, pageable);
+        return propertyResponseCache.getSearch(key, () -> readOnly(() -> findProperties(
+                key.query(), key.address(), lat, lng, radiusKm, key.minPrice(), key.maxPrice(), key.amenities(), pageable)));
+    }
+
+    private Page<PropertyResponse> findProperties(
+            String query,
+            String address,
+            Double lat,
+            Double lng,
+            Double radiusKm,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            List<String> amenities,
+            Pageable pageable) {
+
+        boolean hasKeyword = query != null && !query.isBlank();
+        boolean hasLocation = lat != null && lng != null;
+        boolean hasAmenities = amenities != null && !amenities.isEmpty();
+        boolean hasAddressOrPrice = (address != null && !address.isBlank()) || minPrice != null || maxPrice != null;
+
         Page<Property> properties;
 
-        // If coordinates are provided, search by radius
+        // Location-only searches are served from the in-memory geo index when enabled, with the
+        // same default radius as the database query
+        if (hasLocation && propertyGeoIndex.isEnabled() && !hasKeyword && !hasAmenities && !hasAddressOrPrice) {
+            List<KdTree.Neighbor> nearby = propertyGeoIndex.withinRadius(lat, lng,
+                    radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM);
+            properties = loadPage(nearby.stream().map(KdTree.Neighbor::id).collect(Collectors.toList()),
+                    nearby.size(), pageable);
+        } else if (hasKeyword && propertySearchIndex.isEnabled()) {
+            // Keyword matches come ranked from the full-text index, which applies every other filter too
+            PropertySearchIndex.SearchHits hits = propertySearchIndex.search(query,
+                    indexFilters(address, minPrice, maxPrice, amenities, lat, lng, radiusKm),
+                    (int) pageable.getOffset() + pageable.getPageSize());
+            properties = loadPage(hits.ids(), hits.total(), pageable);
+        } else {
+            // Every supplied filter is combined into one query
+            Specification<Property> filters = activeListingFilters(address, minPrice, maxPrice, amenities);
+            if (hasLocation) {
+                filters = filters.and(PropertySpecifications.withinRadius(lat, lng,
+                        radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM));
+            }
+            properties = propertyRepository.findAll(
+                    filters.and(PropertySpecifications.keywordContains(query)), pageable);
+        }
+
+        return properties.map(this::convertToResponse);
+    }
+
+
+
+
+    /**
+     * Cursor-paginated variant of {@link #searchProperties}: nearest first when coordinates are
+     * given, otherwise newest first. Slices are fetched with a seek predicate and no count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> getPropertyFeed(
+            String query,
+            String address,
+            Double lat,
+            Double lng,
+            Double radiusKm,
+            BigDecimal minPrice,
+            BigDecimal maxPrice,
+            List<String> amenities,
+            String cursor,
+            int size) {
+
+        CursorCodec.Cursor position = decodeCursor(cursor);
+        if (query != null && !query.isBlank() && propertySearchIndex.isEnabled()) {
+            return seekInIndex(query, indexFilters(address, minPrice, maxPrice, amenities, lat, lng, radiusKm),
+                    position, size);
+        }
+
+        Specification<Property> filters = activeListingFilters(address, minPrice, maxPrice, amenities)
+                .and(PropertySpecifications.keywordContains(query));
         if (lat != null && lng != null) {
-            properties = propertyRepository.findPropertiesWithinRadius(lat, lng, radiusKm, pageable);
+            filters = filters.and(PropertySpecifications.withinRadius(lat, lng,
+                    radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM));
+            if (position != null) {
+                filters = filters.and(PropertySpecifications.fartherThan(lat, lng, position.id(),
+                        parseCursorKey(position, Double::parseDouble)));
+            }
+            // withinRadius orders by (distance, id) itself
+            return seek(filters, Sort.unsorted(), size, property -> CursorCodec.encode(
+                    Double.toString(PropertySpecifications.distanceKm(lat, lng, property.getLatitude(), property.getLongitude())),
+                    property.getId()));
         }
-        // Search by keywords, address, and price range
-        else if ((query != null && !query.isEmpty()) ||
-                (address != null && !address.isEmpty()) ||
-                minPrice != null || maxPrice != null) {
-            properties = propertyRepository.searchProperties(query, address, minPrice, maxPrice, pageable);
+
+        return seekNewestFirst(filters, position, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> getPropertyFeedByOwner(Long ownerId, String cursor, int size) {
+        return seekNewestFirst(PropertySpecifications.ownedBy(ownerId), decodeCursor(cursor), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PropertyResponse> getFeaturedPropertyFeed(String cursor, int size) {
+        return seekNewestFirst(PropertySpecifications.isActive().and(PropertySpecifications.isFeatured()),
+                decodeCursor(cursor), size);
+    }
+
+    private Specification<Property> activeListingFilters(String address, BigDecimal minPrice, BigDecimal maxPrice,
+                                                         List<String> amenities) {
+        return PropertySpecifications.isActive()
+                .and(PropertySpecifications.addressContains(address))
+                .and(PropertySpecifications.priceBetween(minPrice, maxPrice))
+                .and(PropertySpecifications.hasAllAmenities(amenities));
+    }
+
+    private PropertySearchIndex.Filters indexFilters(String address, BigDecimal minPrice, BigDecimal maxPrice,
+                                                     List<String> amenities, Double lat, Double lng, Double radiusKm) {
+        return new PropertySearchIndex.Filters(address, minPrice, maxPrice, amenities, lat, lng,
+                radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM);
+    }
+
+    private CursorPage<PropertyResponse> seekNewestFirst(Specification<Property> filters, CursorCodec.Cursor position,
+                                                         int size) {
+        if (position != null) {
+            filters = filters.and(PropertySpecifications.createdBefore(
+                    parseCursorKey(position, LocalDateTime::parse), position.id()));
         }
-        // Search by amenities
-        else if (amenities != null && !amenities.isEmpty()) {
-            properties = propertyRepository.findByAmenitiesIn(amenities, pageable);
+        return seek(filters, NEWEST_FIRST, size,
+                property -> CursorCodec.encode(property.getCreatedAt().toString(), property.getId()));
+    }
+
+    // Fetches one row beyond the slice to learn whether another slice exists, instead of counting
+    private CursorPage<PropertyResponse> seek(Specification<Property> filters, Sort sort, int size,
+                                              Function<Property, String> cursorOf) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        List<Property> rows = propertyRepository.findBy(filters,
+                q -> q.sortBy(sort).project("owner").limit(limit + 1).all());
+
+        boolean hasNext = rows.size() > limit;
+        List<Property> slice = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(slice.get(limit - 1)) : null;
+        return CursorPage.of(slice.stream().map(this::convertToResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    // Keyword feeds are ordered and sliced by the text index; the cursor carries the index's own sort key
+    private CursorPage<PropertyResponse> seekInIndex(String query, PropertySearchIndex.Filters filters,
+                                                     CursorCodec.Cursor position, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        Function<String, Number> sortKey = filters.hasLocation() ? Double::valueOf : Long::valueOf;
+        PropertySearchIndex.FeedHit after = position != null
+                ? new PropertySearchIndex.FeedHit(position.id(), parseCursorKey(position, sortKey))
+                : null;
+        List<PropertySearchIndex.FeedHit> hits = propertySearchIndex.feed(query, filters, after, limit + 1);
+
+        boolean hasNext = hits.size() > limit;
+        List<PropertySearchIndex.FeedHit> slice = hasNext ? hits.subList(0, limit) : hits;
+        String nextCursor = hasNext
+                ? CursorCodec.encode(slice.get(limit - 1).sortKey().toString(), slice.get(limit - 1).id())
+                : null;
+        List<Property> rows = findInOrder(slice.stream().map(PropertySearchIndex.FeedHit::id).collect(Collectors.toList()));
+        return CursorPage.of(rows.stream().map(this::convertToResponse).collect(Collectors.toList()), nextCursor);
+    }
+
+    private static CursorCodec.Cursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? CursorCodec.decode(cursor) : null;
+    }
+
+    private static <T> T parseCursorKey(CursorCodec.Cursor cursor, Function<String, T> parser) {
+        try {
+            return parser.apply(cursor.sortKey());
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
         }
-        // Default: return all active properties
-        else {
-            properties = propertyRepository.findByStatus(PropertyStatus.ACTIVE, pageable);
+    }
+
+    // Loads one page of an already ordered id list, keeping that order
+    private Page<Property> loadPage(List<Long> orderedIds, long total, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), orderedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), orderedIds.size());
+        return new PageImpl<>(findInOrder(orderedIds.subList(from, to)), pageable, total);
+    }
+
+    private List<Property> findInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
 
-        return properties.map(this::convertToResponse);
+        Map<Long, Property> byId = propertyRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
+    // Fills in geohash cells for rows written before the column existed
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillGeoCells() {
+        List<Property> properties = propertyRepository.findByGeoCellIsNull();
+        properties.forEach(Property::updateGeoCell);
+        if (!properties.isEmpty()) {
+            log.info("Backfilled geohash cells for {} properties", properties.size());
+        }
+    }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PropertyResponse getPropertyById(Long id) {
+        PropertyResponse response = propertyResponseCache.getDetails(id, () -> readOnly(() -> convertToResponse(
+                propertyRepository.findById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id)))));
 
+        // View counts are buffered and flushed in batches, keeping this a pure read
+        propertyViewCounter.recordView(id);
 
+        return response;
+    }
+
+    // Covers every field of PropertyResponse except the buffered view count; unit changes
+    // (added units, availability flipped by bookings) bump the property's updatedAt
     @Transactional(readOnly = true)
-    public PropertyResponse getPropertyById(Long id) {
-        Property property = propertyRepository.findById(id)
+    public ResourceVersion getPropertyVersion(Long id) {
+        PropertyRepository.PropertyVersion version = propertyRepository.findVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Property not found with id: " + id));
 
-        // Increment view count
-        property.setViewCount(property.getViewCount() == null ? 1 : property.getViewCount() + 1);
-        propertyRepository.save(property);
+        LocalDateTime lastModified = version.getOwnerUpdatedAt() != null && version.getUpdatedAt() != null
+                && version.getOwnerUpdatedAt().isAfter(version.getUpdatedAt())
+                ? version.getOwnerUpdatedAt() : version.getUpdatedAt();
+        return ResourceVersion.of(lastModified, "property", id, version.getUpdatedAt(), version.getOwnerUpdatedAt(),
+                version.getReviewCount(), version.getRatingSum());
+    }
 
+    // Changes whenever any listing is created, updated, reviewed, booked or deleted, or an owner profile changes
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResourceVersion getCatalogVersion() {
+        return propertyResponseCache.getCatalogVersion();
+    }
 
-        return convertToResponse(property);
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> work.get());
     }
 
     public PropertyResponse createProperty(CreatePropertyRequest request, List<MultipartFile> photos, Long ownerId) {
@@ -115,6 +349,9 @@ public class PropertyService {
         }
 
         Property savedProperty = propertyRepository.save(property);
+        propertyGeoIndex.update(savedProperty);
+        propertySearchIndex.update(savedProperty);
+        propertyResponseCache.evictSearches();
         log.info("Created new property: {} by user: {}", savedProperty.getId(), ownerId);
 
         return convertToResponse(savedProperty);
@@ -140,6 +377,9 @@ public class PropertyService {
         if (request.getAvailableFrom() != null) property.setAvailableFrom(request.getAvailableFrom());
 
         Property updatedProperty = propertyRepository.save(property);
+        propertyGeoIndex.update(updatedProperty);
+        propertySearchIndex.update(updatedProperty);
+        propertyResponseCache.evictProperty(id);
         return convertToResponse(updatedProperty);
     }
 
@@ -157,6 +397,9 @@ public class PropertyService {
 //        property.setStatus(PropertyStatus.INACTIVE); is soft delete
 //        propertyRepository.save(property);
         propertyRepository.delete(property);
+        propertyGeoIndex.remove(id);
+        propertySearchIndex.remove(id);
+        propertyResponseCache.evictProperty(id);
         log.info("Hard-deleted property: {} by user: {}", id, userPrincipal.getId());
         log.info("Deleted property: {} by user: {}", id, userPrincipal.getId());
     }
@@ -182,19 +425,44 @@ public class PropertyService {
                 .property(property)
                 .build();
 
+        // Units are part of the property response, so adding one counts as a property change
+        property.setUpdatedAt(LocalDateTime.now());
         Unit savedUnit = unitRepository.save(unit);
+        propertyResponseCache.evictProperty(propertyId);
         return convertToUnitResponse(savedUnit);
     }
 
+    /**
+     * Landlord dashboard listing, read entirely through DTO projections: the page query plus one
+     * query each for photos, amenities, units and unit amenities of the whole page.
+     */
+    @Transactional(readOnly = true)
     public Page<PropertyResponse> getPropertiesByOwner(Long ownerId, Pageable pageable) {
-        return propertyRepository.findByOwnerId(ownerId, pageable)
-                .map(this::convertToResponse);
+        Page<PropertyView> properties = propertyRepository.findViewsByOwnerId(ownerId, pageable);
+        if (properties.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, properties.getTotalElements());
+        }
+
+        List<Long> propertyIds = properties.map(PropertyView::id).getContent();
+        Map<Long, List<String>> photos = groupByOwner(propertyRepository.findPhotosByPropertyIds(propertyIds));
+        Map<Long, List<String>> amenities = groupByOwner(propertyRepository.findAmenitiesByPropertyIds(propertyIds));
+
+        List<UnitView> units = unitRepository.findViewsByPropertyIds(propertyIds);
+        Map<Long, List<String>> unitAmenities = units.isEmpty() ? Map.of()
+                : groupByOwner(unitRepository.findAmenitiesByUnitIds(units.stream().map(UnitView::id).toList()));
+        Map<Long, List<UnitResponse>> unitsByProperty = units.stream().collect(Collectors.groupingBy(
+                UnitView::propertyId,
+                Collectors.mapping(unit -> convertToUnitResponse(unit, unitAmenities), Collectors.toList())));
+
+        return properties.map(property -> convertToResponse(property, photos, amenities, unitsByProperty));
     }
 
-    private PropertyResponse convertToResponse(Property property) {
-        Double averageRating = reviewRepository.getAverageRatingByPropertyId(property.getId());
-        Long reviewCount = reviewRepository.getReviewCountByPropertyId(property.getId());
+    private static Map<Long, List<String>> groupByOwner(List<ElementValue> values) {
+        return values.stream().collect(Collectors.groupingBy(ElementValue::ownerId,
+                Collectors.mapping(ElementValue::value, Collectors.toList())));
+    }
 
+    private PropertyResponse convertToResponse(Property property) {
         return PropertyResponse.builder()
                 .id(property.getId())
                 .title(property.getTitle())
@@ -204,8 +472,8 @@ public class PropertyService {
                 .longitude(property.getLongitude())
                 .basePrice(property.getBasePrice())
                 .currency(property.getCurrency())
-                .photos(property.getPhotos())
-                .amenities(property.getAmenities())
+                .photos(copyOf(property.getPhotos()))
+                .amenities(copyOf(property.getAmenities()))
                 .availableFrom(property.getAvailableFrom())
                 .status(property.getStatus().name())
                 .featured(property.getFeatured())
@@ -221,13 +489,62 @@ public class PropertyService {
                                 .map(this::convertToUnitResponse)
                                 .collect(Collectors.toList()) : null)
                 .reviewSummary(PropertyResponse.ReviewSummary.builder()
-                        .averageRating(averageRating)
-                        .totalReviews(reviewCount.intValue())
+                        .averageRating(property.getAverageRating())
+                        .totalReviews(property.getReviewCount())
                         .build())
                 .createdAt(property.getCreatedAt())
                 .build();
     }
 
+    private PropertyResponse convertToResponse(PropertyView property, Map<Long, List<String>> photos,
+                                               Map<Long, List<String>> amenities,
+                                               Map<Long, List<UnitResponse>> units) {
+        return PropertyResponse.builder()
+                .id(property.id())
+                .title(property.title())
+                .description(property.description())
+                .address(property.address())
+                .latitude(property.latitude())
+                .longitude(property.longitude())
+                .basePrice(property.basePrice())
+                .currency(property.currency())
+                .photos(photos.getOrDefault(property.id(), new ArrayList<>()))
+                .amenities(amenities.getOrDefault(property.id(), new ArrayList<>()))
+                .availableFrom(property.availableFrom())
+                .status(property.status().name())
+                .featured(property.featured())
+                .viewCount(property.viewCount())
+                .owner(PropertyResponse.OwnerInfo.builder()
+                        .id(property.ownerId())
+                        .fullName(property.ownerFullName())
+                        .phone(property.ownerPhone())
+                        .profilePictureUrl(property.ownerProfilePictureUrl())
+                        .build())
+                .units(units.getOrDefault(property.id(), new ArrayList<>()))
+                .reviewSummary(PropertyResponse.ReviewSummary.builder()
+                        .averageRating(property.averageRating())
+                        .totalReviews(property.reviewCount())
+                        .build())
+                .createdAt(property.createdAt())
+                .build();
+    }
+
+    private UnitResponse convertToUnitResponse(UnitView unit, Map<Long, List<String>> amenities) {
+        return UnitResponse.builder()
+                .id(unit.id())
+                .name(unit.name())
+                .type(unit.type())
+                .capacity(unit.capacity())
+                .bedroomCount(unit.bedroomCount())
+                .bathroomCount(unit.bathroomCount())
+                .monthlyRent(unit.monthlyRent())
+                .securityDeposit(unit.securityDeposit())
+                .available(unit.available())
+                .description(unit.description())
+                .amenities(amenities.getOrDefault(unit.id(), new ArrayList<>()))
+                .build();
+    }
+
     private UnitResponse convertToUnitResponse(Unit unit) {
         return UnitResponse.builder()
                 .id(unit.getId())
@@ -240,10 +557,16 @@ public class PropertyService {
                 .securityDeposit(unit.getSecurityDeposit())
                 .available(unit.getAvailable())
                 .description(unit.getDescription())
-                .amenities(unit.getAmenities())
+                .amenities(copyOf(unit.getAmenities()))
                 .build();
     }
 
+    // Copy lazy element collections so they are loaded (in batches) inside the service transaction
+    // rather than during response serialization
+    private static List<String> copyOf(List<String> values) {
+        return values != null ? new ArrayList<>(values) : null;
+    }
+
     public PropertyResponse verifyProperty(Long id) {
         return null;
     }
@@ -0,0 +1,72 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers property detail views in memory and writes them to the database in periodic
+ * batched increments, so viewing a listing never locks or rewrites the property row.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyViewCounter {
+
+    private static final String FLUSH_SQL =
+            "UPDATE properties SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    // Only properties with unflushed views have an entry, so the map stays as small as one interval's traffic
+    private final Map<Long, Long> pendingViews = new ConcurrentHashMap<>();
+
+    public void recordView(Long propertyId) {
+        pendingViews.merge(propertyId, 1L, Long::sum);
+    }
+
+    @Scheduled(fixedDelayString = "${app.properties.view-flush-interval-ms:10000}")
+    public synchronized void flush() {
+        // Each entry is taken out atomically; a view recorded after that starts a new entry for the next flush
+        List<Object[]> increments = new ArrayList<>();
+        for (Long propertyId : pendingViews.keySet()) {
+            Long count = pendingViews.remove(propertyId);
+            if (count != null) {
+                increments.add(new Object[]{count, propertyId});
+            }
+        }
+
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        try {
+            // One transaction, so a batch failing part-way applies nothing and every increment is retried once
+            new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> jdbcTemplate.batchUpdate(FLUSH_SQL, increments));
+            log.debug("Flushed view counts for {} properties", increments.size());
+        } catch (DataAccessException | TransactionException e) {
+            // Keep the views for the next flush instead of dropping them
+            increments.forEach(increment -> pendingViews.merge((Long) increment[1], (Long) increment[0], Long::sum));
+            log.error("Failed to flush property view counts", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
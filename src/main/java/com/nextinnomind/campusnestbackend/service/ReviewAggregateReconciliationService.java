@@ -0,0 +1,86 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
+import com.nextinnomind.campusnestbackend.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the denormalized review counters on {@code Property} from the reviews table,
+ * repairing any drift left behind by failed writes or manual data fixes. Properties are walked
+ * in id order and each batch is repaired in its own short transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReviewAggregateReconciliationService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PropertyRepository propertyRepository;
+    private final ReviewRepository reviewRepository;
+    private final PropertyResponseCache propertyResponseCache;
+    private final PlatformTransactionManager transactionManager;
+
+    // Also runs on startup, which fills the counters of properties reviewed before they existed
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.reviews.reconcile-cron:0 30 3 * * *}")
+    public void reconcileReviewAggregates() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long lastId = 0L;
+        int repaired = 0;
+
+        List<PropertyRepository.ReviewAggregates> batch;
+        do {
+            batch = propertyRepository.findReviewAggregatesAfter(lastId, Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            List<PropertyRepository.ReviewAggregates> current = batch;
+            repaired += transaction.execute(status -> reconcileBatch(current));
+            lastId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == BATCH_SIZE);
+
+        log.info("Review aggregate reconciliation finished, repaired {} properties", repaired);
+    }
+
+    private int reconcileBatch(List<PropertyRepository.ReviewAggregates> batch) {
+        int repaired = 0;
+        List<Long> propertyIds = batch.stream()
+                .map(PropertyRepository.ReviewAggregates::getId)
+                .collect(Collectors.toList());
+        Map<Long, ReviewRepository.PropertyReviewStats> actual = reviewRepository
+                .getReviewStatsByPropertyIds(propertyIds).stream()
+                .collect(Collectors.toMap(ReviewRepository.PropertyReviewStats::getPropertyId, Function.identity()));
+
+        for (PropertyRepository.ReviewAggregates stored : batch) {
+            ReviewRepository.PropertyReviewStats stats = actual.get(stored.getId());
+            long ratingSum = stats != null ? stats.getRatingSum() : 0L;
+            int reviewCount = stats != null ? stats.getTotalReviews().intValue() : 0;
+
+            if (stored.getRatingSum() != ratingSum || stored.getReviewCount() != reviewCount) {
+                // Only overwrite the counters we actually compared against, so a concurrent
+                // review write is never clobbered by this job
+                if (propertyRepository.resetReviewAggregates(stored.getId(), ratingSum, reviewCount,
+                        stored.getRatingSum(), stored.getReviewCount()) > 0) {
+                    propertyResponseCache.evictProperty(stored.getId());
+                    repaired++;
+                }
+            }
+        }
+        return repaired;
+    }
+}
@@ -10,6 +10,7 @@ import com.nextinnomind.campusnestbackend.exception.ResourceNotFoundException;
 import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
 import com.nextinnomind.campusnestbackend.repository.ReviewRepository;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.repository.projection.ReviewView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,6 +27,7 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
+    private final PropertyResponseCache propertyResponseCache;
 
     public ReviewResponse createReview(Long propertyId, CreateReviewRequest request, Long reviewerId) {
         Property property = propertyRepository.findById(request.getPropertyId())
@@ -52,6 +54,8 @@ public class ReviewService {
                 .build();
 
         Review savedReview = reviewRepository.save(review);
+        propertyRepository.adjustReviewAggregates(property.getId(), savedReview.getRating(), 1);
+        propertyResponseCache.evictProperty(property.getId());
 
         log.info("Created review {} for property {} by user {}",
                 savedReview.getId(), property.getId(), reviewerId);
@@ -65,7 +69,7 @@ public class ReviewService {
             throw new ResourceNotFoundException("Property not found");
         }
 
-        return reviewRepository.findByPropertyIdOrderByCreatedAtDesc(propertyId, pageable)
+        return reviewRepository.findViewsByPropertyId(propertyId, pageable)
                 .map(this::convertToResponse);
     }
 
@@ -81,17 +85,15 @@ public class ReviewService {
 
     @Transactional(readOnly = true)
     public ReviewSummaryResponse getPropertyReviewSummary(Long propertyId) {
-        if (!propertyRepository.existsById(propertyId)) {
-            throw new ResourceNotFoundException("Property not found");
-        }
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Property not found"));
 
-        Double averageRating = reviewRepository.getAverageRatingByPropertyId(propertyId);
-        Long totalReviews = reviewRepository.getReviewCountByPropertyId(propertyId);
+        Double averageRating = property.getAverageRating();
 
         return ReviewSummaryResponse.builder()
                 .propertyId(propertyId)
                 .averageRating(averageRating != null ? averageRating : 0.0)
-                .totalReviews(totalReviews.intValue())
+                .totalReviews(property.getReviewCount())
                 .build();
     }
 
@@ -107,6 +109,11 @@ public class ReviewService {
             if (request.getRating() < 1 || request.getRating() > 5) {
                 throw new BadRequestException("Rating must be between 1 and 5");
             }
+            int ratingDelta = request.getRating() - review.getRating();
+            if (ratingDelta != 0) {
+                propertyRepository.adjustReviewAggregates(review.getProperty().getId(), ratingDelta, 0);
+                propertyResponseCache.evictProperty(review.getProperty().getId());
+            }
             review.setRating(request.getRating());
         }
 
@@ -130,6 +137,8 @@ public class ReviewService {
         }
 
         reviewRepository.delete(review);
+        propertyRepository.adjustReviewAggregates(review.getProperty().getId(), -review.getRating(), -1);
+        propertyResponseCache.evictProperty(review.getProperty().getId());
 
         log.info("Deleted review {} by user {}", reviewId, reviewerId);
     }
@@ -149,4 +158,20 @@ public class ReviewService {
                 .createdAt(review.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    private ReviewResponse convertToResponse(ReviewView review) {
+        return ReviewResponse.builder()
+                .id(review.id())
+                .propertyId(review.propertyId())
+                .propertyTitle(review.propertyTitle())
+                .reviewer(ReviewResponse.ReviewerInfo.builder()
+                        .id(review.reviewerId())
+                        .fullName(review.reviewerFullName())
+                        .profilePictureUrl(review.reviewerProfilePictureUrl())
+                        .build())
+                .rating(review.rating())
+                .comment(review.comment())
+                .createdAt(review.createdAt())
+                .build();
+    }
+}
@@ -4,10 +4,14 @@ package com.nextinnomind.campusnestbackend.service;
 
 import com.nextinnomind.campusnestbackend.dto.user.*;
 import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
 import com.nextinnomind.campusnestbackend.exception.BadRequestException;
 import com.nextinnomind.campusnestbackend.exception.ResourceNotFoundException;
 import com.nextinnomind.campusnestbackend.repository.UserRepository;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
+import com.nextinnomind.campusnestbackend.security.TokenRevocationStore;
+import com.nextinnomind.campusnestbackend.security.UserPrincipalCache;
+import com.nextinnomind.campusnestbackend.util.TransactionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -17,6 +21,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.Instant;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +32,9 @@ public class UserService {
     private final UserRepository userRepository;
     private final FileStorageService fileStorageService;
     private final PasswordEncoder passwordEncoder;
+    private final PropertyResponseCache propertyResponseCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationStore tokenRevocationStore;
 
     @Transactional(readOnly = true)
     public UserProfileResponse getCurrentUserProfile(Long userId) {
@@ -50,11 +59,20 @@ public class UserService {
         if (request.getAddress() != null) user.setAddress(request.getAddress());
 
         User updatedUser = userRepository.save(user);
+        evictListingsOf(updatedUser);
+        userPrincipalCache.evict(userId);
         log.info("Updated profile for user: {}", userId);
 
         return convertToProfileResponse(updatedUser);
     }
 
+    // Landlord name, phone and picture are embedded in cached property responses
+    private void evictListingsOf(User user) {
+        if (user.getRole() == Role.LANDLORD) {
+            propertyResponseCache.evictAll();
+        }
+    }
+
     public UserProfileResponse updateProfilePicture(Long userId, MultipartFile file) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
@@ -63,6 +81,7 @@ public class UserService {
         user.setProfilePictureUrl(imageUrl);
 
         User updatedUser = userRepository.save(user);
+        evictListingsOf(updatedUser);
         log.info("Updated profile picture for user: {}", userId);
 
         return convertToProfileResponse(updatedUser);
@@ -78,6 +97,7 @@ public class UserService {
 
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userPrincipalCache.evict(userId);
         log.info("Password changed for user: {}", userId);
     }
 
@@ -92,6 +112,9 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         user.setIsActive(false);
         userRepository.save(user);
+        userPrincipalCache.evict(userId);
+        // Tokens that are still valid would otherwise keep working in stateless principal mode
+        TransactionUtil.afterCommit(() -> tokenRevocationStore.revokeUser(userId, Instant.now()));
         log.info("Deactivated user: {}", userId);
     }
 
@@ -0,0 +1,137 @@
+package com.nextinnomind.campusnestbackend.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding and cell cover helpers used to narrow radius searches to an indexed
+ * set of grid cells before the exact distance is evaluated.
+ */
+public final class GeoHashUtil {
+
+    /** Precision of {@code Property.geoCell}; a precision 5 cell is roughly 4.9km x 4.9km. */
+    public static final int CELL_PRECISION = 5;
+
+    // Beyond this many cells an IN list stops paying off and the bounding box alone is used
+    private static final int MAX_COVERING_CELLS = 64;
+
+    // The sphere the exact distance check uses, so a box never cuts into the circle it bounds
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private GeoHashUtil() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Smallest latitude/longitude box holding every point within {@code radiusKm} of the given
+     * point. A box reaching a pole spans every longitude, and one crossing the antimeridian is
+     * wrapped so that {@code minLng > maxLng}.
+     */
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double angle = radiusKm / EARTH_RADIUS_KM;
+        double minLat = latitude - Math.toDegrees(angle);
+        double maxLat = latitude + Math.toDegrees(angle);
+        if (minLat <= -90 || maxLat >= 90) {
+            return new BoundingBox(Math.max(-90, minLat), Math.min(90, maxLat), -180, 180);
+        }
+
+        // Widest longitude offset of the circle, reached slightly poleward of its centre
+        double deltaLng = Math.toDegrees(Math.asin(Math.sin(angle) / Math.cos(Math.toRadians(latitude))));
+        double minLng = longitude - deltaLng;
+        double maxLng = longitude + deltaLng;
+        if (minLng < -180) {
+            minLng += 360;
+        } else if (maxLng > 180) {
+            maxLng -= 360;
+        }
+        return new BoundingBox(minLat, maxLat, minLng, maxLng);
+    }
+
+    /**
+     * Returns every cell of the given precision that intersects the box, or an empty set when
+     * the box spans too many cells for a cell lookup to be useful.
+     */
+    public static Set<String> coveringCells(BoundingBox box, int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        int latBits = (5 * precision) / 2;
+        double cellHeight = 180.0 / (1L << latBits);
+        double cellWidth = 360.0 / (1L << lngBits);
+
+        List<Double> latitudes = steps(box.minLat(), box.maxLat(), cellHeight);
+        List<Double> longitudes = steps(box.minLng(), box.crossesAntimeridian() ? 180 : box.maxLng(), cellWidth);
+        if (box.crossesAntimeridian()) {
+            longitudes.addAll(steps(-180, box.maxLng(), cellWidth));
+        }
+        if ((long) latitudes.size() * longitudes.size() > MAX_COVERING_CELLS) {
+            return Collections.emptySet();
+        }
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat : latitudes) {
+            for (double lng : longitudes) {
+                cells.add(encode(lat, lng, precision));
+            }
+        }
+        return cells;
+    }
+
+    // Sample points one cell apart so that every cell between min and max is hit at least once
+    private static List<Double> steps(double min, double max, double step) {
+        List<Double> values = new ArrayList<>();
+        for (double value = min; value < max && values.size() <= MAX_COVERING_CELLS; value += step) {
+            values.add(value);
+        }
+        values.add(max);
+        return values;
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+
+        /** True when the box wraps past 180, covering {@code [minLng, 180]} and {@code [-180, maxLng]}. */
+        public boolean crossesAntimeridian() {
+            return minLng > maxLng;
+        }
+    }
+}
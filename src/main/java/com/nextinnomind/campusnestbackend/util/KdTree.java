@@ -0,0 +1,201 @@
+package com.nextinnomind.campusnestbackend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable 3-d tree over points on the earth's surface. Coordinates are stored as unit
+ * vectors so the straight-line (chord) distance orders points exactly like the great-circle
+ * distance, which keeps radius and k-nearest queries correct at any latitude.
+ */
+public final class KdTree {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final long[] ids;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    private KdTree(long[] ids, double[] xs, double[] ys, double[] zs) {
+        this.ids = ids;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        build(0, ids.length, 0);
+    }
+
+    public static KdTree build(long[] ids, double[] latitudes, double[] longitudes) {
+        int size = ids.length;
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        double[] zs = new double[size];
+        for (int i = 0; i < size; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lng = Math.toRadians(longitudes[i]);
+            xs[i] = Math.cos(lat) * Math.cos(lng);
+            ys[i] = Math.cos(lat) * Math.sin(lng);
+            zs[i] = Math.sin(lat);
+        }
+        return new KdTree(ids.clone(), xs, ys, zs);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /** Points within {@code radiusKm} of the given location, nearest first. */
+    public List<Neighbor> withinRadius(double latitude, double longitude, double radiusKm) {
+        double[] query = toUnitVector(latitude, longitude);
+        double chord = 2 * Math.sin(Math.min(Math.PI, radiusKm / EARTH_RADIUS_KM) / 2);
+        List<Neighbor> result = new ArrayList<>();
+        collectWithinRadius(0, ids.length, 0, query, chord * chord, result);
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    /** The {@code k} points closest to the given location, nearest first. */
+    public List<Neighbor> nearest(double latitude, double longitude, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        double[] query = toUnitVector(latitude, longitude);
+        // Max-heap on squared chord distance holding the best k candidates seen so far
+        PriorityQueue<double[]> best = new PriorityQueue<>(k, (a, b) -> Double.compare(b[1], a[1]));
+        collectNearest(0, ids.length, 0, query, k, best);
+
+        List<Neighbor> result = new ArrayList<>(best.size());
+        for (double[] candidate : best) {
+            result.add(new Neighbor(ids[(int) candidate[0]], toKilometres(candidate[1])));
+        }
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    private void collectWithinRadius(int lo, int hi, int depth, double[] query, double radius2, List<Neighbor> out) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double d2 = distance2(mid, query);
+        if (d2 <= radius2) {
+            out.add(new Neighbor(ids[mid], toKilometres(d2)));
+        }
+
+        double diff = query[depth % 3] - coordinate(mid, depth % 3);
+        if (diff <= 0) {
+            collectWithinRadius(lo, mid, depth + 1, query, radius2, out);
+            if (diff * diff <= radius2) {
+                collectWithinRadius(mid + 1, hi, depth + 1, query, radius2, out);
+            }
+        } else {
+            collectWithinRadius(mid + 1, hi, depth + 1, query, radius2, out);
+            if (diff * diff <= radius2) {
+                collectWithinRadius(lo, mid, depth + 1, query, radius2, out);
+            }
+        }
+    }
+
+    private void collectNearest(int lo, int hi, int depth, double[] query, int k, PriorityQueue<double[]> best) {
+        if (lo >= hi) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        double d2 = distance2(mid, query);
+        if (best.size() < k) {
+            best.add(new double[]{mid, d2});
+        } else if (d2 < best.peek()[1]) {
+            best.poll();
+            best.add(new double[]{mid, d2});
+        }
+
+        double diff = query[depth % 3] - coordinate(mid, depth % 3);
+        int nearLo = diff <= 0 ? lo : mid + 1;
+        int nearHi = diff <= 0 ? mid : hi;
+        int farLo = diff <= 0 ? mid + 1 : lo;
+        int farHi = diff <= 0 ? hi : mid;
+
+        collectNearest(nearLo, nearHi, depth + 1, query, k, best);
+        if (best.size() < k || diff * diff < best.peek()[1]) {
+            collectNearest(farLo, farHi, depth + 1, query, k, best);
+        }
+    }
+
+    // Places the median of [lo, hi) on the splitting axis at the middle index, recursively
+    private void build(int lo, int hi, int depth) {
+        if (hi - lo <= 1) {
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, depth % 3);
+        build(lo, mid, depth + 1);
+        build(mid + 1, hi, depth + 1);
+    }
+
+    private void select(int left, int right, int target, int axis) {
+        while (left < right) {
+            int pivotIndex = partition(left, right, (left + right) >>> 1, axis);
+            if (pivotIndex == target) {
+                return;
+            } else if (target < pivotIndex) {
+                right = pivotIndex - 1;
+            } else {
+                left = pivotIndex + 1;
+            }
+        }
+    }
+
+    private int partition(int left, int right, int pivotIndex, int axis) {
+        double pivot = coordinate(pivotIndex, axis);
+        swap(pivotIndex, right);
+        int store = left;
+        for (int i = left; i < right; i++) {
+            if (coordinate(i, axis) < pivot) {
+                swap(i, store++);
+            }
+        }
+        swap(store, right);
+        return store;
+    }
+
+    private void swap(int i, int j) {
+        long id = ids[i];
+        ids[i] = ids[j];
+        ids[j] = id;
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        double y = ys[i];
+        ys[i] = ys[j];
+        ys[j] = y;
+        double z = zs[i];
+        zs[i] = zs[j];
+        zs[j] = z;
+    }
+
+    private double coordinate(int index, int axis) {
+        return axis == 0 ? xs[index] : axis == 1 ? ys[index] : zs[index];
+    }
+
+    private double distance2(int index, double[] query) {
+        double dx = xs[index] - query[0];
+        double dy = ys[index] - query[1];
+        double dz = zs[index] - query[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lng = Math.toRadians(longitude);
+        return new double[]{Math.cos(lat) * Math.cos(lng), Math.cos(lat) * Math.sin(lng), Math.sin(lat)};
+    }
+
+    private static double toKilometres(double chord2) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(chord2) / 2));
+    }
+
+    public record Neighbor(long id, double distanceKm) {
+    }
+}
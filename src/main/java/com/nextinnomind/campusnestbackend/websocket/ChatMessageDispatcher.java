@@ -0,0 +1,105 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes committed chat messages to their receivers off the request thread. Each receiver is
+ * pinned to one single-threaded lane, so their messages arrive in commit order, and every lane
+ * has a bounded queue: when it is full the push is dropped and the client catches up from history.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ChatMessageDispatcher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.chat.delivery.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.chat.delivery.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor[] lanes;
+    private Timer deliveryLatency;
+    private Counter dropped;
+
+    @PostConstruct
+    public void start() {
+        lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("chat-delivery-" + i + "-"));
+        }
+
+        deliveryLatency = Timer.builder("chat.message.delivery")
+                .description("Time from sending a chat message to pushing it to the receiver")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("chat.message.delivery.queued", this, ChatMessageDispatcher::queuedCount)
+                .description("Chat message pushes waiting in the delivery lanes")
+                .register(meterRegistry);
+        dropped = Counter.builder("chat.message.delivery.dropped")
+                .description("Chat message pushes dropped because the receiver's lane was full")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onMessageSent(MessageSentEvent event) {
+        ThreadPoolExecutor lane = lanes[Math.floorMod(event.receiverId().hashCode(), lanes.length)];
+        try {
+            lane.execute(() -> deliver(event));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Dropped push of message {} to user {}: delivery lane is full",
+                    event.message().getId(), event.receiverId());
+        }
+    }
+
+    private int queuedCount() {
+        int queued = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+        }
+        return queued;
+    }
+
+    private void deliver(MessageSentEvent event) {
+        try {
+            messagingTemplate.convertAndSendToUser(event.receiverId().toString(), "/queue/messages", event.message());
+            deliveryLatency.record(System.nanoTime() - event.sentAtNanos(), TimeUnit.NANOSECONDS);
+        } catch (MessagingException e) {
+            log.warn("Failed to push message {} to user {}", event.message().getId(), event.receiverId(), e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import com.nextinnomind.campusnestbackend.dto.chat.MessageResponse;
+
+/**
+ * Published when a chat message is saved; pushed to the receiver only once the transaction commits.
+ * {@code sentAtNanos} marks when the send started, for end-to-end delivery latency.
+ */
+public record MessageSentEvent(Long receiverId, MessageResponse message, long sentAtNanos) {
+
+    public static MessageSentEvent of(Long receiverId, MessageResponse message) {
+        return new MessageSentEvent(receiverId, message, System.nanoTime());
+    }
+}
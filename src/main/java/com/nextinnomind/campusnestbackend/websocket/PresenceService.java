@@ -0,0 +1,29 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+/**
+ * Which users currently hold an open STOMP session, read from the user registry. With the broker
+ * relay enabled the registry is broadcast between nodes, so users connected elsewhere count too.
+ * A user stays online until their last session (tab, device) closes.
+ */
+@Service
+public class PresenceService {
+
+    private final SimpUserRegistry userRegistry;
+
+    public PresenceService(SimpUserRegistry userRegistry, MeterRegistry meterRegistry) {
+        this.userRegistry = userRegistry;
+        Gauge.builder("websocket.presence.online", userRegistry, SimpUserRegistry::getUserCount)
+                .description("Users with at least one open WebSocket session")
+                .register(meterRegistry);
+    }
+
+    // Sessions are named after the user id (see UserIdHandshakeHandler)
+    public boolean isOnline(Long userId) {
+        return userRegistry.getUser(userId.toString()) != null;
+    }
+}
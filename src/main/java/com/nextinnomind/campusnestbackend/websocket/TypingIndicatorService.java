@@ -0,0 +1,80 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces typing notifications: every keystroke frame only marks (conversation, user) as
+ * typing, and each flush sends at most one frame per pair to the recipient, if they are online.
+ * Flushes run on their own thread so slow scheduled jobs elsewhere cannot delay them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TypingIndicatorService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceService presenceService;
+
+    // Pending pairs mapped to the recipient to notify
+    private final Map<TypingKey, Long> pending = new ConcurrentHashMap<>();
+
+    @Value("${app.chat.typing.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    private ScheduledExecutorService flusher;
+
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("typing-flush-"));
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        flusher.shutdownNow();
+    }
+
+    public void typing(String conversationId, Long userId, Long recipientId) {
+        pending.put(new TypingKey(conversationId, userId), recipientId);
+    }
+
+    public void flush() {
+        Iterator<Map.Entry<TypingKey, Long>> entries = pending.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<TypingKey, Long> entry = entries.next();
+            entries.remove();
+
+            Long recipientId = entry.getValue();
+            if (presenceService.isOnline(recipientId)) {
+                messagingTemplate.convertAndSendToUser(recipientId.toString(), "/queue/typing",
+                        Map.of("conversationId", entry.getKey().conversationId(), "userId", entry.getKey().userId()));
+            }
+        }
+    }
+
+    // A failed run would cancel every later flush, so errors are logged and the next run proceeds
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush typing notifications", e);
+        }
+    }
+
+    private record TypingKey(String conversationId, Long userId) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import com.nextinnomind.campusnestbackend.security.UserPrincipal;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Names each STOMP session after the authenticated user's id rather than their email, so user
+ * destinations and the user registry (cluster-wide in relay mode) are addressed by id, as the
+ * chat services do. The principal stays the same {@link UserPrincipal}.
+ */
+public class UserIdHandshakeHandler extends DefaultHandshakeHandler {
+
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                      Map<String, Object> attributes) {
+        Principal user = super.determineUser(request, wsHandler, attributes);
+        if (user instanceof Authentication authentication && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return new UserIdAuthentication(principal, authentication);
+        }
+        return user;
+    }
+
+    private static final class UserIdAuthentication extends UsernamePasswordAuthenticationToken {
+
+        private UserIdAuthentication(UserPrincipal principal, Authentication authentication) {
+            super(principal, null, authentication.getAuthorities());
+        }
+
+        @Override
+        public String getName() {
+            return ((UserPrincipal) getPrincipal()).getId().toString();
+        }
+    }
+}
@@ -2,63 +2,60 @@ package com.nextinnomind.campusnestbackend.websocket;
 
 import com.nextinnomind.campusnestbackend.dto.chat.MessageResponse;
 import com.nextinnomind.campusnestbackend.dto.chat.SendMessageRequest;
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
 import com.nextinnomind.campusnestbackend.security.UserPrincipal;
 import com.nextinnomind.campusnestbackend.service.ChatService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.*;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 
-import java.util.Map;
-
 @Controller
 @RequiredArgsConstructor
 @Slf4j
 public class WebSocketController {
 
-    private final SimpMessagingTemplate messagingTemplate;
     private final ChatService chatService;
+    private final TypingIndicatorService typingIndicatorService;
 
     @MessageMapping("/chat.send")
     @SendToUser("/queue/messages")
     public MessageResponse sendMessage(
             @Payload SendMessageRequest request,
             @AuthenticationPrincipal UserPrincipal userPrincipal,
-            @Header("conversationId") Long conversationId) {
-
-        MessageResponse message = chatService.sendMessage(String.valueOf(conversationId), request, userPrincipal.getId());
+            @Header("conversationId") String conversationId) {
 
-        // Send to recipient
-        messagingTemplate.convertAndSendToUser(
-                message.getId().toString(),
-                "/queue/messages",
-                message
-        );
+        // The receiver's copy is pushed after commit by ChatMessageDispatcher; this echoes it to the sender
+        return chatService.sendMessage(conversationId, request, userPrincipal.getId());
+    }
 
-        return message;
+    @MessageMapping("/chat.history")
+    @SendToUser("/queue/history")
+    public CursorPage<MessageResponse> history(
+            @AuthenticationPrincipal UserPrincipal userPrincipal,
+            @Header("conversationId") String conversationId,
+            @Header(name = "before", required = false) Long before,
+            @Header(name = "size", defaultValue = "50") int size) {
+        return chatService.getMessages(conversationId, userPrincipal.getId(), before, size);
     }
 
+    // Coalesced by TypingIndicatorService; the recipient is the other participant of the conversation
     @MessageMapping("/chat.typing")
     public void typing(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
-            @Header("conversationId") Long conversationId,
-            @Header("recipientId") Long recipientId) {
+            @Header("conversationId") String conversationId) {
 
-        messagingTemplate.convertAndSendToUser(
-                recipientId.toString(),
-                "/queue/typing",
-                Map.of("conversationId", conversationId, "userId", userPrincipal.getId())
-        );
+        Long recipientId = chatService.getOtherParticipant(conversationId, userPrincipal.getId());
+        typingIndicatorService.typing(conversationId, userPrincipal.getId(), recipientId);
     }
 
     @MessageMapping("/chat.read")
     public void markAsRead(
             @AuthenticationPrincipal UserPrincipal userPrincipal,
-            @Header("messageId") Long messageId) {
+            @Header("conversationId") String conversationId) {
 
-        chatService.markConversationAsRead(String.valueOf(messageId), userPrincipal.getId());
+        chatService.markConversationAsRead(conversationId, userPrincipal.getId());
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.nextinnomind.campusnestbackend;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class CampusnestBackendApplicationTests {
 
     @Test
@@ -0,0 +1,108 @@
+package com.nextinnomind.campusnestbackend.benchmark;
+
+import com.nextinnomind.campusnestbackend.dto.chat.MessageResponse;
+import com.nextinnomind.campusnestbackend.websocket.ChatMessageDispatcher;
+import com.nextinnomind.campusnestbackend.websocket.MessageSentEvent;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Send-to-push latency through {@link ChatMessageDispatcher} with 16 concurrent senders, each
+ * waiting for its message to reach the (simulated) broker. JMH reports the p50/p90/p99/p99.9 of
+ * the round trip, and the dispatcher's own chat.message.delivery percentiles are printed after
+ * each trial, for comparing lane counts against a slower broker.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main ChatDeliveryBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChatDeliveryBenchmark {
+
+    @Param({"1", "4"})
+    public int lanes;
+
+    // Blackhole tokens burnt per push, standing in for serialization and the broker hand-off
+    @Param({"0", "10000"})
+    public long brokerCost;
+
+    private final Map<Long, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+    private final AtomicLong receiverIds = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatMessageDispatcher dispatcher;
+
+    @State(Scope.Thread)
+    public static class Sender {
+        long receiverId;
+
+        @Setup(Level.Trial)
+        public void setUp(ChatDeliveryBenchmark benchmark) {
+            receiverId = benchmark.receiverIds.incrementAndGet();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> {
+            Blackhole.consumeCPU(brokerCost);
+            CompletableFuture<Void> delivered = inFlight.remove(((MessageResponse) message.getPayload()).getId());
+            if (delivered != null) {
+                delivered.complete(null);
+            }
+            return true;
+        });
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new ChatMessageDispatcher(messagingTemplate, meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "laneCount", lanes);
+        ReflectionTestUtils.setField(dispatcher, "queueCapacity", 1000);
+        dispatcher.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        Timer delivery = meterRegistry.get("chat.message.delivery").timer();
+        StringBuilder report = new StringBuilder("chat.message.delivery lanes=" + lanes + " brokerCost=" + brokerCost);
+        for (ValueAtPercentile percentile : delivery.takeSnapshot().percentileValues()) {
+            report.append(String.format(" p%s=%.1fus", percentile.percentile() * 100,
+                    percentile.value(TimeUnit.MICROSECONDS)));
+        }
+        System.out.println(report);
+        dispatcher.stop();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void sendAndDeliver(Sender sender) throws Exception {
+        long messageId = messageIds.incrementAndGet();
+        CompletableFuture<Void> delivered = new CompletableFuture<>();
+        inFlight.put(messageId, delivered);
+
+        dispatcher.onMessageSent(MessageSentEvent.of(sender.receiverId, MessageResponse.builder()
+                .id(messageId)
+                .content("Is the room still available?")
+                .receiverId(sender.receiverId)
+                .build()));
+        delivered.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,227 @@
+package com.nextinnomind.campusnestbackend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the queries behind conversation paging and unread counts, with and without the
+ * indexes declared on {@code Message} and {@code Conversation}, on H2 tables seeded with millions
+ * of messages. The statements mirror {@code MessageRepository.findLatest}/{@code findBefore} and
+ * {@code ConversationRepository.sumUnreadCountByParticipantId}. The query plan of each statement
+ * is printed once per trial.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main MessageQueryBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageQueryBenchmark {
+
+    private static final int USERS = 20_000;
+    private static final int CONVERSATIONS = 200_000;
+    private static final int PAGE_SIZE = 50;
+
+    private static final String CONVERSATION_PAGE = "SELECT id, sender_id, content, created_at FROM messages "
+            + "WHERE conversation_id = ? ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+    private static final String CONVERSATION_PAGE_BEFORE = "SELECT id, sender_id, content, created_at FROM messages "
+            + "WHERE conversation_id = ? AND (created_at < (SELECT created_at FROM messages WHERE id = ? AND conversation_id = ?) "
+            + "OR (created_at = (SELECT created_at FROM messages WHERE id = ? AND conversation_id = ?) AND id < ?)) "
+            + "ORDER BY created_at DESC, id DESC LIMIT " + PAGE_SIZE;
+    private static final String UNREAD_COUNT = "SELECT (SELECT COALESCE(SUM(participant_one_unread), 0) "
+            + "FROM conversations WHERE participant_one_id = ?) + (SELECT COALESCE(SUM(participant_two_unread), 0) "
+            + "FROM conversations WHERE participant_two_id = ?)";
+
+    @Param({"1000000", "3000000"})
+    public int messages;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private Connection connection;
+    private PreparedStatement conversationPage;
+    private PreparedStatement conversationPageBefore;
+    private PreparedStatement unreadCount;
+    private String[] conversationIds;
+    private long[][] participants;
+    // Id of a message in each conversation to page back from, 0 when it has none
+    private long[] anchorIds;
+    private final Random random = new Random(7);
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random seed = new Random(42);
+        conversationIds = new String[CONVERSATIONS];
+        participants = new long[CONVERSATIONS][];
+        anchorIds = new long[CONVERSATIONS];
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < CONVERSATIONS; i++) {
+            do {
+                long first = 1 + seed.nextInt(USERS);
+                long second = 1 + (first + seed.nextInt(USERS - 1)) % USERS;
+                participants[i] = new long[]{Math.min(first, second), Math.max(first, second)};
+                conversationIds[i] = "conv_" + participants[i][0] + "_" + participants[i][1];
+            } while (!seen.add(conversationIds[i]));
+        }
+        long[][] unread = new long[CONVERSATIONS][2];
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:message_benchmark_" + messages + "_" + indexed);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE messages (id BIGINT PRIMARY KEY, sender_id BIGINT NOT NULL, "
+                    + "receiver_id BIGINT NOT NULL, content VARCHAR(255) NOT NULL, is_read BOOLEAN NOT NULL, "
+                    + "read_at TIMESTAMP, conversation_id VARCHAR(255) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TABLE conversations (id VARCHAR(255) PRIMARY KEY, participant_one_id BIGINT NOT NULL, "
+                    + "participant_two_id BIGINT NOT NULL, participant_one_unread INTEGER NOT NULL, "
+                    + "participant_two_unread INTEGER NOT NULL, last_activity_at TIMESTAMP)");
+        }
+
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO messages "
+                + "(id, sender_id, receiver_id, content, is_read, conversation_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < messages; i++) {
+                int conversation = seed.nextInt(CONVERSATIONS);
+                boolean fromFirst = seed.nextBoolean();
+                insert.setLong(1, i + 1);
+                insert.setLong(2, participants[conversation][fromFirst ? 0 : 1]);
+                insert.setLong(3, participants[conversation][fromFirst ? 1 : 0]);
+                insert.setString(4, "message " + i);
+                // Older messages have mostly been read
+                boolean read = i < messages * 0.9 || seed.nextBoolean();
+                insert.setBoolean(5, read);
+                if (!read) {
+                    unread[conversation][fromFirst ? 1 : 0]++;
+                }
+                if (anchorIds[conversation] == 0 || seed.nextInt(4) == 0) {
+                    anchorIds[conversation] = i + 1;
+                }
+                insert.setString(6, conversationIds[conversation]);
+                insert.setTimestamp(7, Timestamp.valueOf(start.plusSeconds(i * 10L)));
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO conversations (id, participant_one_id, "
+                + "participant_two_id, participant_one_unread, participant_two_unread) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < CONVERSATIONS; i++) {
+                insert.setString(1, conversationIds[i]);
+                insert.setLong(2, participants[i][0]);
+                insert.setLong(3, participants[i][1]);
+                insert.setLong(4, unread[i][0]);
+                insert.setLong(5, unread[i][1]);
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        if (indexed) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE INDEX idx_messages_conversation_created ON messages (conversation_id, created_at DESC, id DESC)");
+                statement.execute("CREATE INDEX idx_messages_receiver_read ON messages (receiver_id, is_read)");
+                statement.execute("CREATE INDEX idx_conversations_one_activity ON conversations (participant_one_id, last_activity_at)");
+                statement.execute("CREATE INDEX idx_conversations_two_activity ON conversations (participant_two_id, last_activity_at)");
+                statement.execute("ANALYZE");
+            }
+        }
+
+        conversationPage = connection.prepareStatement(CONVERSATION_PAGE);
+        conversationPageBefore = connection.prepareStatement(CONVERSATION_PAGE_BEFORE);
+        unreadCount = connection.prepareStatement(UNREAD_COUNT);
+        int sample = nextPagedConversation();
+        String conversationId = "'" + conversationIds[sample] + "'";
+        printPlan(inline(CONVERSATION_PAGE, conversationId));
+        printPlan(inline(CONVERSATION_PAGE_BEFORE, conversationId, anchorIds[sample], conversationId,
+                anchorIds[sample], conversationId, anchorIds[sample]));
+        printPlan(inline(UNREAD_COUNT, participants[sample][0], participants[sample][0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void conversationPage(Blackhole blackhole) throws SQLException {
+        conversationPage.setString(1, conversationIds[random.nextInt(CONVERSATIONS)]);
+        try (ResultSet results = conversationPage.executeQuery()) {
+            while (results.next()) {
+                blackhole.consume(results.getLong(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void conversationPageBefore(Blackhole blackhole) throws SQLException {
+        int conversation = nextPagedConversation();
+        conversationPageBefore.setString(1, conversationIds[conversation]);
+        conversationPageBefore.setLong(2, anchorIds[conversation]);
+        conversationPageBefore.setString(3, conversationIds[conversation]);
+        conversationPageBefore.setLong(4, anchorIds[conversation]);
+        conversationPageBefore.setString(5, conversationIds[conversation]);
+        conversationPageBefore.setLong(6, anchorIds[conversation]);
+        try (ResultSet results = conversationPageBefore.executeQuery()) {
+            while (results.next()) {
+                blackhole.consume(results.getLong(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public long unreadCount() throws SQLException {
+        long userId = 1 + random.nextInt(USERS);
+        unreadCount.setLong(1, userId);
+        unreadCount.setLong(2, userId);
+        try (ResultSet results = unreadCount.executeQuery()) {
+            results.next();
+            return results.getLong(1);
+        }
+    }
+
+    private int nextPagedConversation() {
+        int conversation;
+        do {
+            conversation = random.nextInt(CONVERSATIONS);
+        } while (anchorIds[conversation] == 0);
+        return conversation;
+    }
+
+    private static String inline(String sql, Object... parameters) {
+        for (Object parameter : parameters) {
+            sql = sql.replaceFirst("\\?", parameter.toString());
+        }
+        return sql;
+    }
+
+    private void printPlan(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN " + sql)) {
+            plan.next();
+            System.out.println("[messages=" + messages + ", indexed=" + indexed + "] " + plan.getString(1));
+        }
+    }
+}
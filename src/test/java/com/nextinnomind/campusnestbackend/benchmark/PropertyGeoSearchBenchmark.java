@@ -0,0 +1,168 @@
+package com.nextinnomind.campusnestbackend.benchmark;
+
+import com.nextinnomind.campusnestbackend.util.GeoHashUtil;
+import com.nextinnomind.campusnestbackend.util.KdTree;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares radius search over the in-memory k-d tree against the JPQL haversine query
+ * (full scan) and the geohash cell query, on an H2 table seeded with listings around Lusaka.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main PropertyGeoSearchBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PropertyGeoSearchBenchmark {
+
+    private static final double CENTER_LAT = -15.3875;
+    private static final double CENTER_LNG = 28.3228;
+    private static final double SPREAD_DEGREES = 2.0;
+    private static final double RADIUS_KM = 3.0;
+
+    private static final String HAVERSINE = "(6371 * ACOS(LEAST(1.0, COS(RADIANS(?)) * COS(RADIANS(latitude)) * "
+            + "COS(RADIANS(longitude) - RADIANS(?)) + SIN(RADIANS(?)) * SIN(RADIANS(latitude)))))";
+
+    @Param({"10000", "100000", "1000000"})
+    public int listings;
+
+    private KdTree tree;
+    private Connection connection;
+    private PreparedStatement haversineQuery;
+    private double[][] queryPoints;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Random random = new Random(42);
+        long[] ids = new long[listings];
+        double[] latitudes = new double[listings];
+        double[] longitudes = new double[listings];
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:geo_benchmark_" + listings);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE properties (id BIGINT PRIMARY KEY, status VARCHAR(20), "
+                    + "latitude DOUBLE, longitude DOUBLE, geo_cell VARCHAR(12))");
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO properties (id, status, latitude, longitude, geo_cell) VALUES (?, 'ACTIVE', ?, ?, ?)")) {
+            for (int i = 0; i < listings; i++) {
+                ids[i] = i + 1;
+                latitudes[i] = CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+                longitudes[i] = CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+
+                insert.setLong(1, ids[i]);
+                insert.setDouble(2, latitudes[i]);
+                insert.setDouble(3, longitudes[i]);
+                insert.setString(4, GeoHashUtil.encode(latitudes[i], longitudes[i], GeoHashUtil.CELL_PRECISION));
+                insert.addBatch();
+                if (i % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX idx_properties_geo_cell ON properties (geo_cell)");
+            statement.execute("CREATE INDEX idx_properties_lat_lng ON properties (latitude, longitude)");
+        }
+
+        haversineQuery = connection.prepareStatement(
+                "SELECT id FROM properties WHERE status = 'ACTIVE' AND " + HAVERSINE + " <= ?");
+        tree = KdTree.build(ids, latitudes, longitudes);
+
+        queryPoints = new double[1024][];
+        for (int i = 0; i < queryPoints.length; i++) {
+            queryPoints[i] = new double[]{
+                    CENTER_LAT + (random.nextDouble() - 0.5) * SPREAD_DEGREES,
+                    CENTER_LNG + (random.nextDouble() - 0.5) * SPREAD_DEGREES};
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public void kdTreeRadius(Blackhole blackhole) {
+        double[] point = nextPoint();
+        blackhole.consume(tree.withinRadius(point[0], point[1], RADIUS_KM));
+    }
+
+    @Benchmark
+    public void kdTreeNearest20(Blackhole blackhole) {
+        double[] point = nextPoint();
+        blackhole.consume(tree.nearest(point[0], point[1], 20));
+    }
+
+    @Benchmark
+    public void sqlHaversineRadius(Blackhole blackhole) throws SQLException {
+        double[] point = nextPoint();
+        haversineQuery.setDouble(1, point[0]);
+        haversineQuery.setDouble(2, point[1]);
+        haversineQuery.setDouble(3, point[0]);
+        haversineQuery.setDouble(4, RADIUS_KM);
+        consume(haversineQuery, blackhole);
+    }
+
+    @Benchmark
+    public void sqlGeoCellRadius(Blackhole blackhole) throws SQLException {
+        double[] point = nextPoint();
+        GeoHashUtil.BoundingBox box = GeoHashUtil.boundingBox(point[0], point[1], RADIUS_KM);
+        Set<String> cells = GeoHashUtil.coveringCells(box, GeoHashUtil.CELL_PRECISION);
+
+        // The IN list changes size with the query point, so this statement is prepared per call like Hibernate's
+        String placeholders = String.join(",", Collections.nCopies(cells.size(), "?"));
+        try (PreparedStatement cellQuery = connection.prepareStatement(
+                "SELECT id FROM properties WHERE status = 'ACTIVE' AND geo_cell IN (" + placeholders + ") "
+                        + "AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ? AND " + HAVERSINE + " <= ?")) {
+            int index = 1;
+            for (String cell : cells) {
+                cellQuery.setString(index++, cell);
+            }
+            cellQuery.setDouble(index++, box.minLat());
+            cellQuery.setDouble(index++, box.maxLat());
+            cellQuery.setDouble(index++, box.minLng());
+            cellQuery.setDouble(index++, box.maxLng());
+            cellQuery.setDouble(index++, point[0]);
+            cellQuery.setDouble(index++, point[1]);
+            cellQuery.setDouble(index++, point[0]);
+            cellQuery.setDouble(index, RADIUS_KM);
+            consume(cellQuery, blackhole);
+        }
+    }
+
+    private double[] nextPoint() {
+        return queryPoints[next++ & (queryPoints.length - 1)];
+    }
+
+    private static void consume(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet results = query.executeQuery()) {
+            while (results.next()) {
+                blackhole.consume(results.getLong(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import com.nextinnomind.campusnestbackend.dto.user.ChangePasswordRequest;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class JwtAuthenticationFilterTests {
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User student;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        student = userRepository.save(User.builder()
+                .fullName("Filter Student")
+                .email("filter-student@example.com")
+                .phone("0970000004")
+                .passwordHash(passwordEncoder.encode("old-password"))
+                .role(Role.STUDENT)
+                .emailVerified(true)
+                .build());
+        token = tokenProvider.generateAccessToken(student.getId(), student.getEmail(), student.getRole().name());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void repeatRequestSkipsUserLookup() throws Exception {
+        statistics.clear();
+        Authentication first = authenticate(token);
+        assertThat(first).isNotNull();
+        assertThat(((UserPrincipal) first.getPrincipal()).getId()).isEqualTo(student.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics.clear();
+        Authentication second = authenticate(token);
+        assertThat(second).isNotNull();
+        assertThat(((UserPrincipal) second.getPrincipal()).getId()).isEqualTo(student.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void passwordChangeIsSeenOnNextRequest() throws Exception {
+        assertThat(passwordOf(authenticate(token))).isEqualTo(student.getPasswordHash());
+
+        ChangePasswordRequest request = new ChangePasswordRequest();
+        request.setCurrentPassword("old-password");
+        request.setNewPassword("new-password");
+        userService.changePassword(student.getId(), request);
+
+        assertThat(passwordEncoder.matches("new-password", passwordOf(authenticate(token)))).isTrue();
+    }
+
+    @Test
+    void deactivationIsSeenOnNextRequest() throws Exception {
+        assertThat(authenticate(token)).isNotNull();
+
+        userService.deactivateUser(student.getId());
+
+        assertThat(principalCache.get(student.getId())).hasValueSatisfying(
+                principal -> assertThat(principal.isEnabled()).isFalse());
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    void refreshTokenIsNotAcceptedAsAccessToken() throws Exception {
+        String refreshToken = tokenProvider.generateRefreshToken(student.getId());
+        assertThat(tokenProvider.parseAndValidate(refreshToken)).isPresent();
+
+        statistics.clear();
+        assertThat(authenticate(refreshToken)).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private Authentication authenticate(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static String passwordOf(Authentication authentication) {
+        return ((UserPrincipal) authentication.getPrincipal()).getPassword();
+    }
+}
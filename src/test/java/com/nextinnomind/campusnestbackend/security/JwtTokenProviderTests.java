@@ -0,0 +1,139 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenProviderTests {
+
+    private static final int EXPIRATION_MS = 3_600_000;
+
+    @TempDir
+    private Path keys;
+
+    @TempDir
+    private Path staging;
+
+    @Test
+    void signsWithActiveKeyAndVerifiesTokensFromRotatedKeys() throws IOException {
+        copyKeys();
+        JwtTokenProvider previous = provider(new JwtKeyRing(activate("2026-09").toString(), "", false));
+        JwtTokenProvider current = provider(new JwtKeyRing(activate("2026-10").toString(), "", false));
+
+        String token = current.generateAccessToken(7L, "student@example.com", "STUDENT");
+        String olderToken = previous.generateAccessToken(7L, "student@example.com", "STUDENT");
+
+        Claims claims = current.parseAndValidate(token).orElseThrow();
+        assertThat(claims.getSubject()).isEqualTo("7");
+        assertThat(claims.get("role", String.class)).isEqualTo("STUDENT");
+        assertThat(current.parseAndValidate(olderToken)).isPresent();
+    }
+
+    @Test
+    void publishesNewKeyBeforeItSigns() throws IOException {
+        copyKeys();
+        Path newKey = Files.move(keys.resolve("2026-10.key"), staging.resolve("2026-10.key"));
+        JwtKeyRing keyRing = new JwtKeyRing(keys.toString(), "", false);
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("2026-09");
+        assertThat(keyRing.verificationKey("2026-10")).isPresent();
+
+        Files.move(newKey, keys.resolve("2026-10.key"));
+        activate("2026-10");
+        keyRing.reload();
+        assertThat(keyRing.signingKey().kid()).isEqualTo("2026-10");
+    }
+
+    @Test
+    void requiresSigningKeyToBeNamedWhenSeveralAreLoaded() throws IOException {
+        copyKeys();
+
+        assertThatThrownBy(() -> new JwtKeyRing(keys.toString(), "", false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(JwtKeyRing.ACTIVE_KID_FILE);
+        assertThat(new JwtKeyRing(keys.toString(), "2026-09", false).signingKey().kid()).isEqualTo("2026-09");
+        assertThat(new JwtKeyRing(activate("2026-10").toString(), "2026-09", false).signingKey().kid())
+                .isEqualTo("2026-10");
+    }
+
+    @Test
+    void requiresKeyLocationOutsideDevAndTestProfiles() {
+        assertThatThrownBy(() -> new JwtKeyRing("", "", false)).isInstanceOf(IllegalStateException.class);
+        assertThat(new JwtKeyRing("", "", true).signingKey().kid()).startsWith("ephemeral-");
+    }
+
+    @Test
+    void keepsCurrentKeysWhenReloadFails() throws IOException {
+        copyKeys();
+        JwtKeyRing keyRing = new JwtKeyRing(activate("2026-09").toString(), "", false);
+
+        activate("2027-01");
+        keyRing.reload();
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("2026-09");
+    }
+
+    @Test
+    void rejectsTokensSignedWithUnknownKeys() throws IOException {
+        copyKeys();
+        JwtTokenProvider provider = provider(new JwtKeyRing(activate("2026-10").toString(), "", false));
+        JwtTokenProvider stranger = provider(new JwtKeyRing("", "", true));
+
+        String token = stranger.generateAccessToken(7L, "student@example.com", "STUDENT");
+
+        assertThat(provider.parseAndValidate(token)).isEmpty();
+    }
+
+    @Test
+    void publishesEveryPublicKeyAsJwk() throws IOException {
+        copyKeys();
+        JwtKeyRing keyRing = new JwtKeyRing(activate("2026-10").toString(), "", false);
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> jwks = (List<Map<String, Object>>) keyRing.jwks().get("keys");
+
+        assertThat(keyRing.signingKey().kid()).isEqualTo("2026-10");
+        assertThat(jwks).extracting(key -> key.get("kid")).containsExactly("2025-rsa", "2026-09", "2026-10");
+        assertThat(jwks.get(0)).containsEntry("kty", "RSA").containsEntry("alg", "RS256").containsKeys("n", "e");
+        assertThat(jwks.get(1)).containsEntry("kty", "EC").containsEntry("crv", "P-256").containsKeys("x", "y");
+        assertThat((String) jwks.get(1).get("x")).hasSize(43);
+        assertThat(jwks.get(2)).containsEntry("kty", "RSA").containsEntry("alg", "RS256");
+    }
+
+    private static JwtTokenProvider provider(JwtKeyRing keyRing) {
+        return new JwtTokenProvider(keyRing, EXPIRATION_MS, EXPIRATION_MS);
+    }
+
+    private void copyKeys() throws IOException {
+        try (Stream<Path> files = Files.list(resourceKeys())) {
+            for (Path file : files.toList()) {
+                Files.copy(file, keys.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    private Path activate(String kid) throws IOException {
+        Files.writeString(keys.resolve(JwtKeyRing.ACTIVE_KID_FILE), kid + "\n");
+        return keys;
+    }
+
+    private static Path resourceKeys() {
+        try {
+            return Path.of(Objects.requireNonNull(JwtTokenProviderTests.class.getResource("/jwt-keys")).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.nextinnomind.campusnestbackend.security;
+
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.RefreshTokenRepository;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.stateless-principal.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationTests {
+
+    private static final long ACCESS_TOKEN_LIFETIME_MS = 3_600_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        student = userRepository.save(User.builder()
+                .fullName("Revocation Student")
+                .email("revocation-student@example.com")
+                .phone("0970000002")
+                .passwordHash("not-a-real-hash")
+                .role(Role.STUDENT)
+                .emailVerified(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        refreshTokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void loggedOutTokenIsRejected() throws Exception {
+        String token = accessToken(student);
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deactivationRejectsTokensIssuedBeforeIt() throws Exception {
+        String token = accessToken(student);
+        User other = userRepository.save(User.builder()
+                .fullName("Unaffected Student")
+                .email("unaffected-student@example.com")
+                .phone("0970000003")
+                .passwordHash("not-a-real-hash")
+                .role(Role.STUDENT)
+                .emailVerified(true)
+                .build());
+        String otherToken = accessToken(other);
+
+        userService.deactivateUser(student.getId());
+
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenIssuedInTheSameSecondAsTheCutoffIsRevoked() {
+        InMemoryTokenRevocationStore store = new InMemoryTokenRevocationStore(ACCESS_TOKEN_LIFETIME_MS);
+        Instant sameSecond = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.SECONDS);
+        Instant cutoff = sameSecond.plusMillis(400);
+        store.revokeUser(7L, cutoff);
+
+        // iat is truncated to the second, so it cannot tell whether it was issued before or after the cutoff
+        assertThat(store.isRevoked("header.payload.same", 7L, sameSecond)).isTrue();
+        assertThat(store.isRevoked("header.payload.earlier", 7L, sameSecond.minusSeconds(1))).isTrue();
+        assertThat(store.isRevoked("header.payload.later", 7L, sameSecond.plusSeconds(1))).isFalse();
+        assertThat(store.isRevoked("header.payload.same", 8L, sameSecond)).isFalse();
+    }
+
+    @Test
+    void refusesPerNodeRevocationsWhenRelayIsEnabled() {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(tokenProvider, principalCache,
+                new InMemoryTokenRevocationStore(ACCESS_TOKEN_LIFETIME_MS));
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        ReflectionTestUtils.setField(filter, "multiNode", true);
+
+        assertThatThrownBy(filter::checkRevocationScope)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("shared TokenRevocationStore");
+
+        ReflectionTestUtils.setField(filter, "multiNode", false);
+        filter.checkRevocationScope();
+    }
+
+    private String accessToken(User user) {
+        return tokenProvider.generateAccessToken(user.getId(), user.getEmail(), user.getRole().name());
+    }
+}
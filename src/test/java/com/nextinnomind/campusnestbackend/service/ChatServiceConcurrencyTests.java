@@ -0,0 +1,107 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.dto.chat.SendMessageRequest;
+import com.nextinnomind.campusnestbackend.entity.Conversation;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.ConversationRepository;
+import com.nextinnomind.campusnestbackend.repository.MessageRepository;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ChatServiceConcurrencyTests {
+
+    private static final int PAIR_COUNT = 20;
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        conversationRepository.deleteAll();
+        messageRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentFirstMessagesCreateOneConversationAndCountBoth() throws Exception {
+        List<User[]> pairs = new ArrayList<>();
+        for (int i = 0; i < PAIR_COUNT; i++) {
+            pairs.add(new User[]{user("first-" + i), user("second-" + i)});
+        }
+
+        // Both participants of every pair send their first message at the same moment
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(PAIR_COUNT * 2);
+        List<Future<?>> sends = new ArrayList<>();
+        try {
+            for (User[] pair : pairs) {
+                String conversationId = conversationId(pair[0], pair[1]);
+                for (User sender : pair) {
+                    sends.add(executor.submit(() -> {
+                        start.await();
+                        return chatService.sendMessage(conversationId, message("Hi from " + sender.getFullName()),
+                                sender.getId());
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> send : sends) {
+                send.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(conversationRepository.count()).isEqualTo(PAIR_COUNT);
+        for (User[] pair : pairs) {
+            Conversation conversation = conversationRepository.findById(conversationId(pair[0], pair[1])).orElseThrow();
+            assertThat(conversation.getParticipantOneUnread()).isEqualTo(1);
+            assertThat(conversation.getParticipantTwoUnread()).isEqualTo(1);
+        }
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email(name + "@example.com")
+                .phone("0970000000")
+                .passwordHash("not-a-real-hash")
+                .role(Role.STUDENT)
+                .build());
+    }
+
+    private static String conversationId(User first, User second) {
+        return "conv_" + Math.min(first.getId(), second.getId()) + "_" + Math.max(first.getId(), second.getId());
+    }
+
+    private static SendMessageRequest message(String content) {
+        SendMessageRequest request = new SendMessageRequest();
+        request.setContent(content);
+        return request;
+    }
+}
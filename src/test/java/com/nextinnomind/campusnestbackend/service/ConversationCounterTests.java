@@ -0,0 +1,167 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.dto.chat.SendMessageRequest;
+import com.nextinnomind.campusnestbackend.entity.Conversation;
+import com.nextinnomind.campusnestbackend.entity.Message;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.ConversationRepository;
+import com.nextinnomind.campusnestbackend.repository.MessageRepository;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ConversationCounterTests {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Created in this order, so first has the smallest id and is participant one wherever it appears
+    private User first;
+    private User second;
+    private User third;
+
+    @BeforeEach
+    void setUp() {
+        first = user("counter-first");
+        second = user("counter-second");
+        third = user("counter-third");
+    }
+
+    @AfterEach
+    void tearDown() {
+        conversationRepository.deleteAll();
+        messageRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void sentMessagesCountForTheirReceiverOnly() {
+        String firstWithSecond = conversationId(first, second);
+        chatService.sendMessage(firstWithSecond, message("One"), first.getId());
+        chatService.sendMessage(firstWithSecond, message("Two"), first.getId());
+        Long reply = chatService.sendMessage(firstWithSecond, message("Reply"), second.getId()).getId();
+
+        Conversation conversation = conversationRepository.findById(firstWithSecond).orElseThrow();
+        assertThat(conversation.getParticipantOneUnread()).isEqualTo(1);
+        assertThat(conversation.getParticipantTwoUnread()).isEqualTo(2);
+        assertThat(conversation.getLastMessageId()).isEqualTo(reply);
+        assertThat(conversation.getLastMessageContent()).isEqualTo("Reply");
+        assertThat(conversation.getLastMessageSenderId()).isEqualTo(second.getId());
+    }
+
+    @Test
+    void unreadTotalSumsBothParticipantColumns() {
+        // second is participant two with first and participant one with third
+        chatService.sendMessage(conversationId(first, second), message("From first"), first.getId());
+        chatService.sendMessage(conversationId(first, second), message("Again"), first.getId());
+        chatService.sendMessage(conversationId(second, third), message("From third"), third.getId());
+        chatService.sendMessage(conversationId(second, third), message("To third"), second.getId());
+
+        assertThat(chatService.getUnreadCount(second.getId())).isEqualTo(3);
+        assertThat(chatService.getUnreadCount(first.getId())).isZero();
+        assertThat(chatService.getUnreadCount(third.getId())).isEqualTo(1);
+        assertThat(chatService.getUnreadCount(-1L)).isZero();
+    }
+
+    @Test
+    void markingReadClearsOnlyTheReadersCounter() {
+        String firstWithSecond = conversationId(first, second);
+        chatService.sendMessage(firstWithSecond, message("Hello"), first.getId());
+        chatService.sendMessage(firstWithSecond, message("Hi"), second.getId());
+        chatService.sendMessage(conversationId(second, third), message("Hey"), third.getId());
+
+        chatService.markConversationAsRead(firstWithSecond, second.getId());
+
+        Conversation conversation = conversationRepository.findById(firstWithSecond).orElseThrow();
+        assertThat(conversation.getParticipantOneUnread()).isEqualTo(1);
+        assertThat(conversation.getParticipantTwoUnread()).isZero();
+        assertThat(chatService.getUnreadCount(second.getId())).isEqualTo(1);
+        assertThat(chatService.getUnreadCount(first.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void backfillRebuildsConversationsFromMessages() {
+        String firstWithSecond = conversationId(first, second);
+        Message opening = saveMessage(first, second, firstWithSecond, true);
+        saveMessage(first, second, firstWithSecond, false);
+        saveMessage(first, second, firstWithSecond, false);
+        Message latest = saveMessage(second, first, firstWithSecond, false);
+        Message other = saveMessage(third, second, conversationId(second, third), false);
+
+        chatService.backfillConversations();
+
+        Conversation conversation = conversationRepository.findById(firstWithSecond).orElseThrow();
+        assertThat(conversation.getParticipantOne().getId()).isEqualTo(first.getId());
+        assertThat(conversation.getParticipantTwo().getId()).isEqualTo(second.getId());
+        assertThat(conversation.getParticipantOneUnread()).isEqualTo(1);
+        assertThat(conversation.getParticipantTwoUnread()).isEqualTo(2);
+        assertThat(conversation.getLastMessageId()).isEqualTo(latest.getId());
+        assertThat(conversation.getLastMessageSenderId()).isEqualTo(second.getId());
+        assertThat(conversation.getCreatedAt()).isEqualTo(reloaded(opening).getCreatedAt());
+        assertThat(conversation.getLastActivityAt()).isEqualTo(reloaded(latest).getCreatedAt());
+
+        Conversation secondWithThird = conversationRepository.findById(conversationId(second, third)).orElseThrow();
+        assertThat(secondWithThird.getParticipantOneUnread()).isEqualTo(1);
+        assertThat(secondWithThird.getParticipantTwoUnread()).isZero();
+        assertThat(secondWithThird.getLastMessageId()).isEqualTo(other.getId());
+        assertThat(chatService.getUnreadCount(second.getId())).isEqualTo(3);
+
+        // Conversations that already exist are left alone, so running it again changes nothing
+        chatService.sendMessage(firstWithSecond, message("After backfill"), first.getId());
+        chatService.backfillConversations();
+        assertThat(conversationRepository.count()).isEqualTo(2);
+        assertThat(conversationRepository.findById(firstWithSecond).orElseThrow().getParticipantTwoUnread()).isEqualTo(3);
+    }
+
+    private Message saveMessage(User sender, User receiver, String conversationId, boolean read) {
+        return messageRepository.save(Message.builder()
+                .sender(sender)
+                .receiver(receiver)
+                .content("Message from " + sender.getFullName())
+                .isRead(read)
+                .conversationId(conversationId)
+                .build());
+    }
+
+    private Message reloaded(Message message) {
+        return messageRepository.findById(message.getId()).orElseThrow();
+    }
+
+    private User user(String name) {
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email(name + "@example.com")
+                .phone("0970000000")
+                .passwordHash("not-a-real-hash")
+                .role(Role.STUDENT)
+                .build());
+    }
+
+    private static String conversationId(User one, User other) {
+        return "conv_" + Math.min(one.getId(), other.getId()) + "_" + Math.max(one.getId(), other.getId());
+    }
+
+    private static SendMessageRequest message(String content) {
+        SendMessageRequest request = new SendMessageRequest();
+        request.setContent(content);
+        return request;
+    }
+}
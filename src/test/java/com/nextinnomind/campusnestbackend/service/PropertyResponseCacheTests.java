@@ -0,0 +1,107 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.dto.property.PropertyResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PropertyResponseCacheTests {
+
+    private static final PropertyResponseCache.SearchKey SEARCH = PropertyResponseCache.SearchKey.of(
+            "Studio", null, null, null, null, null, null, null, PageRequest.of(0, 20));
+
+    @Autowired
+    private PropertyResponseCache responseCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> responseCache.evictAll());
+    }
+
+    @Test
+    void detailEntryIsEvictedOnlyOnceTheWriteCommits() {
+        assertThat(details(1L, "Before")).isEqualTo("Before");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            responseCache.evictProperty(1L);
+            // Another reader running before the commit still gets the entry it can see
+            assertThat(details(1L, "During")).isEqualTo("Before");
+        });
+
+        assertThat(details(1L, "After")).isEqualTo("After");
+    }
+
+    @Test
+    void rolledBackWriteKeepsEntriesAndCatalogVersion() {
+        assertThat(details(2L, "Before")).isEqualTo("Before");
+        assertThat(search("Before")).isEqualTo("Before");
+        String eTag = responseCache.getCatalogVersion().eTag();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            responseCache.evictProperty(2L);
+            status.setRollbackOnly();
+        });
+
+        assertThat(details(2L, "After")).isEqualTo("Before");
+        assertThat(search("After")).isEqualTo("Before");
+        assertThat(responseCache.getCatalogVersion().eTag()).isEqualTo(eTag);
+    }
+
+    @Test
+    void searchEvictionMovesCatalogVersionAndKeepsDetails() {
+        assertThat(details(3L, "Before")).isEqualTo("Before");
+        assertThat(search("Before")).isEqualTo("Before");
+        String eTag = responseCache.getCatalogVersion().eTag();
+
+        transactionTemplate.executeWithoutResult(status -> responseCache.evictSearches());
+
+        assertThat(responseCache.getCatalogVersion().eTag()).isNotEqualTo(eTag);
+        assertThat(search("After")).isEqualTo("After");
+        assertThat(details(3L, "After")).isEqualTo("Before");
+    }
+
+    @Test
+    void evictAllClearsEveryDetailEntry() {
+        assertThat(details(4L, "Before")).isEqualTo("Before");
+        assertThat(details(5L, "Before")).isEqualTo("Before");
+
+        transactionTemplate.executeWithoutResult(status -> responseCache.evictAll());
+
+        assertThat(details(4L, "After")).isEqualTo("After");
+        assertThat(details(5L, "After")).isEqualTo("After");
+        assertThat(search("After")).isEqualTo("After");
+    }
+
+    // The title of the cached response, which is the given one only if the loader ran
+    private String details(Long propertyId, String title) {
+        return responseCache.getDetails(propertyId, () -> PropertyResponse.builder()
+                .id(propertyId)
+                .title(title)
+                .build()).getTitle();
+    }
+
+    private String search(String title) {
+        Page<PropertyResponse> page = responseCache.getSearch(SEARCH,
+                () -> new PageImpl<>(List.of(PropertyResponse.builder().title(title).build())));
+        return page.getContent().get(0).getTitle();
+    }
+}
@@ -0,0 +1,147 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.dto.common.CursorPage;
+import com.nextinnomind.campusnestbackend.dto.property.PropertyResponse;
+import com.nextinnomind.campusnestbackend.entity.Property;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
+import com.nextinnomind.campusnestbackend.repository.PropertySpecifications;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.search.text-index.enabled=true")
+@ActiveProfiles("test")
+class PropertySearchIndexTests {
+
+    private static final int PROPERTY_COUNT = 30;
+    private static final double ORIGIN_LAT = -15.39;
+    private static final double ORIGIN_LNG = 28.32;
+    private static final double RADIUS_KM = 15.0;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertySearchIndex propertySearchIndex;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private List<Property> properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        User owner = userRepository.save(User.builder()
+                .fullName("Search Index Landlord")
+                .email("search-index-landlord@example.com")
+                .phone("0970000001")
+                .passwordHash("not-a-real-hash")
+                .role(Role.LANDLORD)
+                .build());
+
+        // Roughly 1.1 km apart going north; every third listing is not a studio
+        properties = new ArrayList<>();
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            properties.add(propertyRepository.save(Property.builder()
+                    .title((i % 3 == 0 ? "Family house " : "Cozy studio ") + i)
+                    .description("Seeded listing " + i)
+                    .address(i + " Campus Road")
+                    .latitude(ORIGIN_LAT + i * 0.01)
+                    .longitude(ORIGIN_LNG)
+                    .basePrice(BigDecimal.valueOf(300 + i))
+                    .amenities(new ArrayList<>(i % 2 == 0 ? List.of("WiFi", "Parking") : List.of("Parking")))
+                    .status(PropertyStatus.ACTIVE)
+                    .owner(owner)
+                    .build()));
+        }
+        propertySearchIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+        propertySearchIndex.rebuild();
+    }
+
+    @Test
+    void keywordSearchAppliesAmenityAndRadiusFiltersInTheIndex() {
+        List<Long> expected = properties.stream()
+                .filter(this::isWifiStudioInRadius)
+                .map(Property::getId)
+                .sorted()
+                .collect(Collectors.toList());
+
+        Page<PropertyResponse> page = propertyService.searchProperties("studio", null, ORIGIN_LAT, ORIGIN_LNG,
+                RADIUS_KM, null, null, List.of("WiFi"), PageRequest.of(0, 3));
+
+        assertThat(page.getTotalElements()).isEqualTo(expected.size());
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getContent()).allSatisfy(response -> assertThat(expected).contains(response.getId()));
+    }
+
+    @Test
+    void keywordFeedPagesNewestFirstThroughEveryMatchOnce() {
+        List<Long> expected = properties.stream()
+                .filter(property -> property.getTitle().startsWith("Cozy studio") && property.getAmenities().contains("WiFi"))
+                .sorted(Comparator.comparing(Property::getCreatedAt).thenComparing(Property::getId).reversed())
+                .map(Property::getId)
+                .collect(Collectors.toList());
+
+        assertThat(readFeed(null, null, null)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void keywordFeedPagesNearestFirstWithinTheRadius() {
+        List<Long> expected = properties.stream()
+                .filter(this::isWifiStudioInRadius)
+                .sorted(Comparator.comparing(this::distanceFromOrigin).thenComparing(Property::getId))
+                .map(Property::getId)
+                .collect(Collectors.toList());
+
+        assertThat(readFeed(ORIGIN_LAT, ORIGIN_LNG, RADIUS_KM)).containsExactlyElementsOf(expected);
+    }
+
+    private List<Long> readFeed(Double lat, Double lng, Double radiusKm) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PropertyResponse> page = propertyService.getPropertyFeed(
+                    "studio", null, lat, lng, radiusKm, null, null, List.of("WiFi"), cursor, 2);
+            page.getContent().forEach(response -> ids.add(response.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private boolean isWifiStudioInRadius(Property property) {
+        return property.getTitle().startsWith("Cozy studio")
+                && property.getAmenities().contains("WiFi")
+                && distanceFromOrigin(property) <= RADIUS_KM;
+    }
+
+    private double distanceFromOrigin(Property property) {
+        return PropertySpecifications.distanceKm(ORIGIN_LAT, ORIGIN_LNG, property.getLatitude(), property.getLongitude());
+    }
+}
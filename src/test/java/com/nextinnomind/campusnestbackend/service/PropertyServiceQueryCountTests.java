@@ -0,0 +1,124 @@
+package com.nextinnomind.campusnestbackend.service;
+
+import com.nextinnomind.campusnestbackend.dto.property.PropertyResponse;
+import com.nextinnomind.campusnestbackend.entity.Property;
+import com.nextinnomind.campusnestbackend.entity.Unit;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.PropertyStatus;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.enums.UnitType;
+import com.nextinnomind.campusnestbackend.repository.PropertyRepository;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PropertyServiceQueryCountTests {
+
+    private static final int PROPERTY_COUNT = 30;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        User owner = userRepository.save(User.builder()
+                .fullName("Query Count Landlord")
+                .email("query-count-landlord@example.com")
+                .phone("0970000000")
+                .passwordHash("not-a-real-hash")
+                .role(Role.LANDLORD)
+                .build());
+
+        for (int i = 0; i < PROPERTY_COUNT; i++) {
+            Property property = Property.builder()
+                    .title("Listing " + i)
+                    .description("Seeded listing " + i)
+                    .address(i + " Campus Road")
+                    .latitude(-15.39 + i * 0.001)
+                    .longitude(28.32 + i * 0.001)
+                    .basePrice(BigDecimal.valueOf(300 + i))
+                    .photos(new ArrayList<>(List.of("photo-" + i + "-a.jpg", "photo-" + i + "-b.jpg")))
+                    .amenities(new ArrayList<>(List.of("WiFi", "Parking")))
+                    .status(PropertyStatus.ACTIVE)
+                    .owner(owner)
+                    .build();
+            property.setUnits(new ArrayList<>(List.of(unit(property, "A"), unit(property, "B"))));
+            propertyRepository.save(property);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void searchPageRunsBoundedNumberOfQueriesRegardlessOfPageSize() {
+        long smallPageQueries = countSearchQueries(5);
+        long largePageQueries = countSearchQueries(25);
+
+        // catalog generation, page + count + owner via entity graph, then one batch each for photos,
+        // amenities, units, unit amenities
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+        assertThat(largePageQueries).isLessThanOrEqualTo(7);
+    }
+
+    private long countSearchQueries(int pageSize) {
+        statistics.clear();
+
+        Page<PropertyResponse> page = propertyService.searchProperties(
+                null, null, null, null, null, null, null, null, PageRequest.of(0, pageSize));
+
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getContent()).allSatisfy(response -> {
+            assertThat(response.getPhotos()).hasSize(2);
+            assertThat(response.getUnits()).hasSize(2);
+            assertThat(response.getOwner().getFullName()).isEqualTo("Query Count Landlord");
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Unit unit(Property property, String name) {
+        return Unit.builder()
+                .name(name)
+                .type(UnitType.SINGLE_ROOM)
+                .capacity(1)
+                .bedroomCount(1)
+                .bathroomCount(1)
+                .monthlyRent(BigDecimal.valueOf(250))
+                .amenities(new ArrayList<>(List.of("Desk")))
+                .property(property)
+                .build();
+    }
+}
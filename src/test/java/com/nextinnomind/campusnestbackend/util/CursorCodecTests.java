@@ -0,0 +1,63 @@
+package com.nextinnomind.campusnestbackend.util;
+
+import com.nextinnomind.campusnestbackend.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorCodecTests {
+
+    @Test
+    void roundTripsSortKeyAndId() {
+        for (String sortKey : new String[]{"2025-03-01T10:15:30.123456", "1.2345678901234567", "a|b|c", "Lusaka ✓"}) {
+            String cursor = CursorCodec.encode(sortKey, 42L);
+
+            assertThat(cursor).matches("[A-Za-z0-9_-]+");
+            assertThat(CursorCodec.decode(cursor)).isEqualTo(new CursorCodec.Cursor(sortKey, 42L));
+        }
+        assertThat(CursorCodec.decode(CursorCodec.encode("x", Long.MAX_VALUE)).id()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void rejectsCursorsThatAreNotBase64() {
+        String cursor = CursorCodec.encode("2025-03-01T10:15:30", 42L);
+
+        assertRejected(cursor + "!");
+        assertRejected(cursor.substring(0, cursor.length() - 1) + "=");
+        assertRejected(cursor.replace(cursor.charAt(0), '+'));
+        assertRejected("a");
+    }
+
+    @Test
+    void rejectsCursorsWithoutSortKeyOrId() {
+        assertRejected(raw("2025-03-01T10:15:30"));
+        assertRejected(raw("|42"));
+        assertRejected(raw("2025-03-01T10:15:30|"));
+        assertRejected(raw("2025-03-01T10:15:30|4x2"));
+        assertRejected(raw("2025-03-01T10:15:30|99999999999999999999"));
+        assertRejected("");
+    }
+
+    @Test
+    void rejectsEditedCursors() {
+        String cursor = CursorCodec.encode("2025-03-01T10:15:30", 42L);
+
+        // Cursors are not signed: an edit that still decodes is just another position, anything else is refused
+        assertRejected(cursor.substring(0, cursor.length() - 3));
+        assertRejected(raw(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).replace('|', ':')));
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertRejected(String cursor) {
+        assertThatThrownBy(() -> CursorCodec.decode(cursor))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
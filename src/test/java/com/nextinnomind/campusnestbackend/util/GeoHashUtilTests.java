@@ -0,0 +1,120 @@
+package com.nextinnomind.campusnestbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashUtilTests {
+
+    private static final int PRECISION = GeoHashUtil.CELL_PRECISION;
+    // A precision 5 cell is 360 / 2^13 degrees wide and 180 / 2^12 degrees high, the same angle both ways
+    private static final double CELL_SIZE = 360.0 / 8192;
+
+    private final Random random = new Random(7);
+
+    @Test
+    void boxAndCellsHoldEveryPointOnTheCircleEdge() {
+        double[][] centres = {{-15.39, 28.32}, {60.17, 24.94}, {-17.0, 179.99}, {64.0, -179.95}, {89.98, 45.0}};
+        for (double[] centre : centres) {
+            for (double radiusKm : new double[]{0.5, 5, 20}) {
+                GeoHashUtil.BoundingBox box = GeoHashUtil.boundingBox(centre[0], centre[1], radiusKm);
+                Set<String> cells = GeoHashUtil.coveringCells(box, PRECISION);
+
+                // Points a hair inside the circle, all the way round, are the ones a loose box would cut off
+                for (int i = 0; i < 720; i++) {
+                    double[] point = destination(centre, i / 2.0 + random.nextDouble() * 0.5, radiusKm * (1 - 1e-9));
+                    assertThat(contains(box, point)).as("%s within %skm of %s", point, radiusKm, centre).isTrue();
+                    if (!cells.isEmpty()) {
+                        assertThat(cells).contains(GeoHashUtil.encode(point[0], point[1], PRECISION));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void boxCrossingTheAntimeridianWraps() {
+        GeoHashUtil.BoundingBox box = GeoHashUtil.boundingBox(-17.0, 179.99, 5);
+
+        assertThat(box.crossesAntimeridian()).isTrue();
+        assertThat(box.minLng()).isBetween(179.9, 179.99);
+        assertThat(box.maxLng()).isBetween(-180.0, -179.9);
+
+        Set<String> cells = GeoHashUtil.coveringCells(box, PRECISION);
+        assertThat(cells)
+                .contains(GeoHashUtil.encode(-17.0, 179.99, PRECISION))
+                .contains(GeoHashUtil.encode(-17.0, -179.99, PRECISION))
+                .noneMatch(cell -> cell.equals(GeoHashUtil.encode(-17.0, 0, PRECISION)));
+    }
+
+    @Test
+    void boxReachingAPoleSpansEveryLongitude() {
+        GeoHashUtil.BoundingBox box = GeoHashUtil.boundingBox(89.99, 10.0, 5);
+
+        assertThat(box.maxLat()).isEqualTo(90);
+        assertThat(box.minLng()).isEqualTo(-180);
+        assertThat(box.maxLng()).isEqualTo(180);
+        assertThat(box.crossesAntimeridian()).isFalse();
+        // Far too many cells for an IN list, so only the box narrows the search
+        assertThat(GeoHashUtil.coveringCells(box, PRECISION)).isEmpty();
+    }
+
+    @Test
+    void cellsOnBothSidesOfAnEdgeAreCovered() {
+        double lngEdge = -180 + 4740 * CELL_SIZE;
+        double latEdge = -90 + 1700 * CELL_SIZE;
+
+        // A box whose sides lie on cell edges touches the neighbouring cells, as the inclusive BETWEEN does
+        Set<String> onEdges = GeoHashUtil.coveringCells(
+                new GeoHashUtil.BoundingBox(latEdge, latEdge + CELL_SIZE, lngEdge, lngEdge + CELL_SIZE), PRECISION);
+        assertThat(onEdges).containsExactlyInAnyOrder(
+                GeoHashUtil.encode(latEdge, lngEdge, PRECISION),
+                GeoHashUtil.encode(latEdge, lngEdge + CELL_SIZE, PRECISION),
+                GeoHashUtil.encode(latEdge + CELL_SIZE, lngEdge, PRECISION),
+                GeoHashUtil.encode(latEdge + CELL_SIZE, lngEdge + CELL_SIZE, PRECISION));
+
+        Set<String> inside = GeoHashUtil.coveringCells(new GeoHashUtil.BoundingBox(
+                latEdge + 1e-9, latEdge + CELL_SIZE - 1e-9, lngEdge + 1e-9, lngEdge + CELL_SIZE - 1e-9), PRECISION);
+        assertThat(inside).containsExactly(GeoHashUtil.encode(latEdge + CELL_SIZE / 2, lngEdge + CELL_SIZE / 2, PRECISION));
+
+        Set<String> straddling = GeoHashUtil.coveringCells(new GeoHashUtil.BoundingBox(
+                latEdge + 0.01, latEdge + 0.02, lngEdge - 1e-9, lngEdge + 1e-9), PRECISION);
+        assertThat(straddling).containsExactlyInAnyOrder(
+                GeoHashUtil.encode(latEdge + 0.01, lngEdge - 1e-9, PRECISION),
+                GeoHashUtil.encode(latEdge + 0.01, lngEdge, PRECISION));
+    }
+
+    @Test
+    void boxTooWideForACellListHasNoCells() {
+        assertThat(GeoHashUtil.coveringCells(GeoHashUtil.boundingBox(-15.39, 28.32, 100), PRECISION)).isEmpty();
+        assertThat(GeoHashUtil.coveringCells(GeoHashUtil.boundingBox(-15.39, 28.32, 10), PRECISION)).isNotEmpty();
+    }
+
+    private static boolean contains(GeoHashUtil.BoundingBox box, double[] point) {
+        boolean latitude = point[0] >= box.minLat() && point[0] <= box.maxLat();
+        boolean longitude = box.crossesAntimeridian()
+                ? point[1] >= box.minLng() || point[1] <= box.maxLng()
+                : point[1] >= box.minLng() && point[1] <= box.maxLng();
+        return latitude && longitude;
+    }
+
+    // The point distanceKm from the start along the given bearing, on the sphere the searches use
+    private static double[] destination(double[] start, double bearingDegrees, double distanceKm) {
+        double angle = distanceKm / KdTree.EARTH_RADIUS_KM;
+        double lat = Math.toRadians(start[0]);
+        double bearing = Math.toRadians(bearingDegrees);
+        double lat2 = Math.asin(Math.sin(lat) * Math.cos(angle) + Math.cos(lat) * Math.sin(angle) * Math.cos(bearing));
+        double lng2 = Math.toRadians(start[1]) + Math.atan2(Math.sin(bearing) * Math.sin(angle) * Math.cos(lat),
+                Math.cos(angle) - Math.sin(lat) * Math.sin(lat2));
+        double longitude = Math.toDegrees(lng2);
+        if (longitude > 180) {
+            longitude -= 360;
+        } else if (longitude < -180) {
+            longitude += 360;
+        }
+        return new double[]{Math.toDegrees(lat2), longitude};
+    }
+}
@@ -0,0 +1,121 @@
+package com.nextinnomind.campusnestbackend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class KdTreeTests {
+
+    private static final int POINT_COUNT = 3000;
+    private static final int QUERY_COUNT = 200;
+
+    // Clusters around a campus, across the antimeridian and next to the north pole, plus a sparse global spread
+    private static final double[][] CENTRES = {{-15.39, 28.32}, {-17.0, 179.9}, {89.9, 0.0}};
+
+    private final Random random = new Random(42);
+    private long[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private KdTree tree;
+
+    @BeforeEach
+    void setUp() {
+        ids = new long[POINT_COUNT];
+        latitudes = new double[POINT_COUNT];
+        longitudes = new double[POINT_COUNT];
+        for (int i = 0; i < POINT_COUNT; i++) {
+            double[] point = i % 4 == 3 ? new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180}
+                    : near(CENTRES[i % 4], 0.5);
+            ids[i] = i + 1;
+            latitudes[i] = point[0];
+            longitudes[i] = point[1];
+        }
+        tree = KdTree.build(ids, latitudes, longitudes);
+    }
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            double[] query = near(CENTRES[q % CENTRES.length], 0.6);
+            double radiusKm = 1 + random.nextDouble() * 40;
+
+            List<KdTree.Neighbor> found = tree.withinRadius(query[0], query[1], radiusKm);
+            List<KdTree.Neighbor> expected = bruteForce(query).stream()
+                    .filter(neighbor -> neighbor.distanceKm() <= radiusKm)
+                    .toList();
+
+            assertThat(found).extracting(KdTree.Neighbor::id)
+                    .containsExactlyInAnyOrderElementsOf(expected.stream().map(KdTree.Neighbor::id).toList());
+            assertThat(found).isSortedAccordingTo(Comparator.comparingDouble(KdTree.Neighbor::distanceKm));
+            for (int i = 0; i < found.size(); i++) {
+                assertThat(found.get(i).distanceKm()).isCloseTo(expected.get(i).distanceKm(), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        for (int q = 0; q < QUERY_COUNT; q++) {
+            double[] query = q % 5 == 4 ? new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180}
+                    : near(CENTRES[q % CENTRES.length], 0.6);
+            int k = 1 + random.nextInt(25);
+
+            List<KdTree.Neighbor> found = tree.nearest(query[0], query[1], k);
+            List<KdTree.Neighbor> expected = bruteForce(query).subList(0, k);
+
+            assertThat(found).hasSize(k);
+            assertThat(found).isSortedAccordingTo(Comparator.comparingDouble(KdTree.Neighbor::distanceKm));
+            for (int i = 0; i < k; i++) {
+                assertThat(found.get(i).distanceKm()).isCloseTo(expected.get(i).distanceKm(), within(1e-6));
+            }
+        }
+    }
+
+    @Test
+    void radiusSearchCrossesTheAntimeridian() {
+        KdTree pair = KdTree.build(new long[]{1, 2, 3}, new double[]{-17.0, -17.0, -17.0},
+                new double[]{179.98, -179.98, 179.0});
+
+        // 0.04 degrees of longitude at 17S is about 4.25km
+        assertThat(pair.withinRadius(-17.0, 179.98, 5)).extracting(KdTree.Neighbor::id).containsExactly(1L, 2L);
+        assertThat(pair.nearest(-17.0, -179.98, 2)).extracting(KdTree.Neighbor::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void nearestHandlesEmptyTreesAndOversizedK() {
+        KdTree empty = KdTree.build(new long[0], new double[0], new double[0]);
+        assertThat(empty.withinRadius(0, 0, 100)).isEmpty();
+        assertThat(empty.nearest(0, 0, 3)).isEmpty();
+
+        assertThat(tree.nearest(0, 0, 0)).isEmpty();
+        assertThat(tree.nearest(0, 0, POINT_COUNT + 10)).hasSize(POINT_COUNT);
+    }
+
+    private List<KdTree.Neighbor> bruteForce(double[] query) {
+        return IntStream.range(0, POINT_COUNT)
+                .mapToObj(i -> new KdTree.Neighbor(ids[i], haversineKm(query[0], query[1], latitudes[i], longitudes[i])))
+                .sorted(Comparator.comparingDouble(KdTree.Neighbor::distanceKm))
+                .toList();
+    }
+
+    private double[] near(double[] centre, double spreadDegrees) {
+        double latitude = Math.max(-90, Math.min(90, centre[0] + (random.nextDouble() * 2 - 1) * spreadDegrees));
+        double longitude = centre[1] + (random.nextDouble() * 2 - 1) * spreadDegrees;
+        return new double[]{latitude, longitude > 180 ? longitude - 360 : longitude};
+    }
+
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLng / 2), 2);
+        return 2 * KdTree.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
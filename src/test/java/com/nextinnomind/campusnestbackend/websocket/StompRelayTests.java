@@ -0,0 +1,167 @@
+package com.nextinnomind.campusnestbackend.websocket;
+
+import com.nextinnomind.campusnestbackend.CampusnestBackendApplication;
+import com.nextinnomind.campusnestbackend.entity.User;
+import com.nextinnomind.campusnestbackend.enums.Role;
+import com.nextinnomind.campusnestbackend.repository.UserRepository;
+import com.nextinnomind.campusnestbackend.security.JwtTokenProvider;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Runs two application nodes against an embedded Artemis broker with a STOMP acceptor, the way
+ * production runs against a shared broker with app.websocket.relay.enabled, and checks that a
+ * /user send on one node reaches a session held by the other.
+ */
+class StompRelayTests {
+
+    @TempDir
+    private static Path brokerDir;
+
+    private static EmbeddedActiveMQ broker;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        int stompPort = freePort();
+        // Every destination stays on Artemis' default multicast routing: the user destination broadcast
+        // re-sends MESSAGE frames with the destination-type header the broker stamped on them
+        Configuration configuration = new ConfigurationImpl();
+        configuration.setBrokerInstance(brokerDir.toFile());
+        configuration.setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://localhost:" + stompPort + "?protocols=STOMP");
+        broker = new EmbeddedActiveMQ().setConfiguration(configuration);
+        broker.start();
+
+        nodeA = startNode(stompPort);
+        nodeB = startNode(stompPort);
+        await().atMost(Duration.ofSeconds(30)).until(() -> brokerAvailable(nodeA) && brokerAvailable(nodeB));
+    }
+
+    @AfterAll
+    static void stopCluster() throws Exception {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void userSendOnOneNodeReachesSessionOnAnother() throws Exception {
+        User student = nodeA.getBean(UserRepository.class).save(User.builder()
+                .fullName("Relay Student")
+                .email("relay-student@example.com")
+                .phone("0970000005")
+                .passwordHash("not-a-real-hash")
+                .role(Role.STUDENT)
+                .emailVerified(true)
+                .build());
+        String token = nodeA.getBean(JwtTokenProvider.class)
+                .generateAccessToken(student.getId(), student.getEmail(), student.getRole().name());
+
+        ThreadPoolTaskScheduler receiptScheduler = new ThreadPoolTaskScheduler();
+        receiptScheduler.initialize();
+        WebSocketStompClient client = new WebSocketStompClient(new StandardWebSocketClient());
+        client.setMessageConverter(new MappingJackson2MessageConverter());
+        client.setTaskScheduler(receiptScheduler);
+        WebSocketHttpHeaders handshakeHeaders = new WebSocketHttpHeaders();
+        handshakeHeaders.setBearerAuth(token);
+        StompSession session = client.connectAsync("ws://localhost:" + port(nodeA) + "/ws/websocket",
+                handshakeHeaders, new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+
+        try {
+            BlockingQueue<Map<?, ?>> received = new LinkedBlockingQueue<>();
+            session.setAutoReceipt(true);
+            CountDownLatch subscribed = new CountDownLatch(1);
+            session.subscribe("/user/queue/messages", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return Map.class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    received.add((Map<?, ?>) payload);
+                }
+            }).addReceiptTask(subscribed::countDown);
+            assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Node B holds no session for the student, so the send has to cross the broker
+            nodeB.getBean(SimpMessagingTemplate.class).convertAndSendToUser(student.getId().toString(),
+                    "/queue/messages", Map.of("content", "Sent from node B"));
+
+            Map<?, ?> message = received.poll(30, TimeUnit.SECONDS);
+            assertThat(message).isNotNull();
+            assertThat(message.get("content")).isEqualTo("Sent from node B");
+        } finally {
+            session.disconnect();
+            client.stop();
+            receiptScheduler.shutdown();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(int stompPort) {
+        return new SpringApplicationBuilder(CampusnestBackendApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--app.websocket.relay.enabled=true",
+                        "--app.websocket.relay.host=localhost",
+                        "--app.websocket.relay.port=" + stompPort,
+                        "--logging.level.org.apache.activemq=WARN");
+    }
+
+    private static boolean brokerAvailable(ConfigurableApplicationContext node) {
+        return node.getBean("stompBrokerRelayMessageHandler", AbstractBrokerMessageHandler.class).isBrokerAvailable();
+    }
+
+    private static int port(ConfigurableApplicationContext node) {
+        return ((WebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}